@@ -0,0 +1,157 @@
+package org.garry.disruptor_clone.perf;
+
+import org.garry.disruptor_clone.BatchEventConsumer;
+import org.garry.disruptor_clone.EntryClaimer;
+import org.garry.disruptor_clone.RingBuffer;
+import org.garry.disruptor_clone.SequenceClaimThreadingStrategy;
+import org.garry.disruptor_clone.SlotClaimer;
+import org.garry.disruptor_clone.ThresholdBarrier;
+import org.garry.disruptor_clone.WaitStrategyOption;
+import org.garry.disruptor_clone.YieldingSlotClaimer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.garry.disruptor_clone.perf.PerfSupport.BUFFER_SIZE;
+import static org.garry.disruptor_clone.perf.PerfSupport.ITERATIONS;
+import static org.garry.disruptor_clone.perf.PerfSupport.halt;
+import static org.garry.disruptor_clone.perf.PerfSupport.newExecutor;
+import static org.garry.disruptor_clone.perf.PerfSupport.queues;
+import static org.garry.disruptor_clone.perf.PerfSupport.waitFor;
+
+/**
+ * Diamond: one producer to two independent consumers that are joined by a third
+ *
+ * <pre>
+ *            +--> C1 --+
+ *            |         |
+ * P1 --> RB -+         +--> C3
+ *            |         |
+ *            +--> C2 --+
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DiamondPathThroughputBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RingBufferState
+    {
+        @Param({"YIELDING", "BLOCKING"})
+        public WaitStrategyOption waitStrategy;
+
+        RingBuffer<ValueEntry> ringBuffer;
+        BatchEventConsumer<ValueEntry> left;
+        BatchEventConsumer<ValueEntry> right;
+        BatchEventConsumer<ValueEntry> join;
+        EntryClaimer<ValueEntry> entryClaimer;
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, BUFFER_SIZE,
+                                          SequenceClaimThreadingStrategy.SINGLE_THREAD, waitStrategy);
+            ThresholdBarrier<ValueEntry> barrier = ringBuffer.createBarrier();
+            left = new BatchEventConsumer<>(barrier, new ValueAdditionHandler());
+            right = new BatchEventConsumer<>(barrier, new ValueAdditionHandler());
+            join = new BatchEventConsumer<>(ringBuffer.createBarrier(left, right), new ValueAdditionHandler());
+            entryClaimer = new EntryClaimer<>(new YieldingSlotClaimer<>(0, ringBuffer, join));
+
+            executor = newExecutor(3);
+            executor.submit(left);
+            executor.submit(right);
+            executor.submit(join);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException
+        {
+            halt(executor, left, right, join);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class QueueState
+    {
+        BlockingQueue<Long> leftQueue;
+        BlockingQueue<Long> rightQueue;
+        ValueQueueProcessor join;
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            leftQueue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+            rightQueue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+            BlockingQueue<Long> leftJoinQueue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+            BlockingQueue<Long> rightJoinQueue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+            join = new ValueQueueProcessor(queues(leftJoinQueue, rightJoinQueue), queues());
+
+            executor = newExecutor(3);
+            executor.submit(new ValueQueueProcessor(queues(leftQueue), queues(leftJoinQueue)));
+            executor.submit(new ValueQueueProcessor(queues(rightQueue), queues(rightJoinQueue)));
+            executor.submit(join);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException
+        {
+            halt(executor);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public void ringBuffer(final RingBufferState state)
+    {
+        final EntryClaimer<ValueEntry> entryClaimer = state.entryClaimer;
+        final long expectedSequence = state.ringBuffer.getCursor() + ITERATIONS;
+
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            ValueEntry entry = entryClaimer.claimNext();
+            entry.setValue(i);
+            entry.commit();
+        }
+
+        waitFor(state.join, expectedSequence);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public void arrayBlockingQueue(final QueueState state) throws InterruptedException
+    {
+        final BlockingQueue<Long> leftQueue = state.leftQueue;
+        final BlockingQueue<Long> rightQueue = state.rightQueue;
+        final long expectedSequence = state.join.getSequence() + ITERATIONS;
+
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            Long value = Long.valueOf(i);
+            leftQueue.put(value);
+            rightQueue.put(value);
+        }
+
+        waitFor(state.join, expectedSequence);
+    }
+}
@@ -0,0 +1,138 @@
+package org.garry.disruptor_clone.perf;
+
+import org.garry.disruptor_clone.BatchEventConsumer;
+import org.garry.disruptor_clone.EventTranslatorOneArg;
+import org.garry.disruptor_clone.MergingEventConsumer;
+import org.garry.disruptor_clone.RingBuffer;
+import org.garry.disruptor_clone.SequenceClaimThreadingStrategy;
+import org.garry.disruptor_clone.SlotClaimer;
+import org.garry.disruptor_clone.WaitStrategyOption;
+import org.garry.disruptor_clone.YieldingSlotClaimer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.garry.disruptor_clone.perf.PerfSupport.BUFFER_SIZE;
+import static org.garry.disruptor_clone.perf.PerfSupport.halt;
+import static org.garry.disruptor_clone.perf.PerfSupport.newExecutor;
+
+/**
+ * Fan in of many producers to one consumer, comparing a lane per producer drained by a {@link MergingEventConsumer}
+ * against all producers claiming on one shared multi threaded ring
+ *
+ * <pre>
+ * P1 --> L1 --+                P1 --+
+ * P2 --> L2 --+--> C1          P2 --+--> RB --> C1
+ *  ...        |                 ... |
+ * Pn --> Ln --+                Pn --+
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(FanInThroughputBenchmark.PRODUCERS)
+public class FanInThroughputBenchmark {
+
+    static final int PRODUCERS = 4;
+
+    private static final int LANE_SIZE = BUFFER_SIZE / PRODUCERS;
+    private static final int LANE_BATCH_SIZE = 256;
+
+    private static final EventTranslatorOneArg<ValueEntry, Long> TRANSLATOR =
+        (entry, value) -> entry.setValue(value.longValue());
+
+    @State(Scope.Benchmark)
+    public static class LanesState
+    {
+        MergingEventConsumer<ValueEntry> consumer;
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            consumer = new MergingEventConsumer<>(ValueEntry.FACTORY, LANE_SIZE, LANE_BATCH_SIZE,
+                                                  new ValueAdditionHandler());
+            executor = newExecutor(1);
+            executor.submit(consumer);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException
+        {
+            halt(executor, consumer);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LaneProducerState
+    {
+        SlotClaimer<ValueEntry> slotClaimer;
+        long value;
+
+        @Setup(Level.Trial)
+        public void setUp(final LanesState lanes)
+        {
+            slotClaimer = lanes.consumer.registerProducer();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedRingState
+    {
+        RingBuffer<ValueEntry> ringBuffer;
+        BatchEventConsumer<ValueEntry> consumer;
+        SlotClaimer<ValueEntry> slotClaimer;
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, BUFFER_SIZE,
+                                          SequenceClaimThreadingStrategy.MULTI_THREADED, WaitStrategyOption.YIELDING);
+            consumer = new BatchEventConsumer<>(ringBuffer.createBarrier(), new ValueAdditionHandler());
+            slotClaimer = new YieldingSlotClaimer<>(PRODUCERS, ringBuffer, consumer);
+
+            executor = newExecutor(1);
+            executor.submit(consumer);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException
+        {
+            halt(executor, consumer);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SharedProducerState
+    {
+        long value;
+    }
+
+    @Benchmark
+    public long lanes(final LaneProducerState producer)
+    {
+        return producer.slotClaimer.publishEvent(TRANSLATOR, Long.valueOf(producer.value++));
+    }
+
+    @Benchmark
+    public long sharedRing(final SharedRingState state, final SharedProducerState producer)
+    {
+        return state.slotClaimer.publishEvent(TRANSLATOR, Long.valueOf(producer.value++));
+    }
+}
@@ -0,0 +1,111 @@
+package org.garry.disruptor_clone.perf;
+
+import org.garry.disruptor_clone.BatchEventConsumer;
+import org.garry.disruptor_clone.RingBuffer;
+import org.garry.disruptor_clone.SequenceClaimThreadingStrategy;
+import org.garry.disruptor_clone.VirtualThreadFactory;
+import org.garry.disruptor_clone.WaitStrategyOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.garry.disruptor_clone.perf.PerfSupport.waitFor;
+
+/**
+ * Many rings, one per tenant, each with a single mostly idle consumer parked with {@link WaitStrategyOption#PARKING}.
+ * Each operation publishes one event to every ring and waits for all the consumers to wake up and handle it,
+ * comparing consumers on virtual threads with consumers on platform threads.
+ *
+ * <pre>
+ * P1 --> RB1 --> C1
+ *   \--> RB2 --> C2
+ *    ...
+ *   \--> RBn --> Cn
+ * </pre>
+ *
+ * On a JVM without virtual threads the VIRTUAL case falls back to platform threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IdleConsumersBenchmark {
+
+    private static final int NUM_RINGS = 2000;
+    private static final int RING_SIZE = 16;
+
+    public enum ThreadType
+    {
+        VIRTUAL,
+        PLATFORM
+    }
+
+    @State(Scope.Benchmark)
+    public static class RingBufferState
+    {
+        @Param({"VIRTUAL", "PLATFORM"})
+        public ThreadType threadType;
+
+        RingBuffer<ValueEntry>[] ringBuffers;
+        BatchEventConsumer<ValueEntry>[] consumers;
+
+        @SuppressWarnings("unchecked")
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            final VirtualThreadFactory threadFactory = new VirtualThreadFactory(ThreadType.VIRTUAL == threadType);
+            ringBuffers = new RingBuffer[NUM_RINGS];
+            consumers = new BatchEventConsumer[NUM_RINGS];
+            for (int i = 0; i < NUM_RINGS; i++)
+            {
+                ringBuffers[i] = new RingBuffer<>(ValueEntry.FACTORY, RING_SIZE,
+                                                  SequenceClaimThreadingStrategy.SINGLE_THREAD,
+                                                  WaitStrategyOption.PARKING);
+                consumers[i] = new BatchEventConsumer<>(ringBuffers[i].createBarrier(), new ValueAdditionHandler());
+                threadFactory.execute(consumers[i]);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown()
+        {
+            for (BatchEventConsumer<ValueEntry> consumer : consumers)
+            {
+                consumer.halt();
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_RINGS)
+    public void wakeAllConsumers(final RingBufferState state)
+    {
+        final RingBuffer<ValueEntry>[] ringBuffers = state.ringBuffers;
+
+        for (RingBuffer<ValueEntry> ringBuffer : ringBuffers)
+        {
+            long sequence = ringBuffer.next();
+            ringBuffer.get(sequence).setValue(1L);
+            ringBuffer.publish(sequence);
+        }
+
+        for (int i = 0; i < ringBuffers.length; i++)
+        {
+            waitFor(state.consumers[i], ringBuffers[i].getCursor());
+        }
+    }
+}
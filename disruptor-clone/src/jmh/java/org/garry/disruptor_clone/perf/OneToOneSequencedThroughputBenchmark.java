@@ -0,0 +1,163 @@
+package org.garry.disruptor_clone.perf;
+
+import org.garry.disruptor_clone.BatchEventConsumer;
+import org.garry.disruptor_clone.EntryClaimer;
+import org.garry.disruptor_clone.RingBuffer;
+import org.garry.disruptor_clone.SequenceBatch;
+import org.garry.disruptor_clone.SequenceClaimThreadingStrategy;
+import org.garry.disruptor_clone.SlotClaimer;
+import org.garry.disruptor_clone.WaitStrategyOption;
+import org.garry.disruptor_clone.YieldingSlotClaimer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.garry.disruptor_clone.perf.PerfSupport.BUFFER_SIZE;
+import static org.garry.disruptor_clone.perf.PerfSupport.ITERATIONS;
+import static org.garry.disruptor_clone.perf.PerfSupport.halt;
+import static org.garry.disruptor_clone.perf.PerfSupport.newExecutor;
+import static org.garry.disruptor_clone.perf.PerfSupport.queues;
+import static org.garry.disruptor_clone.perf.PerfSupport.waitFor;
+
+/**
+ * Unicast: one producer to one consumer
+ *
+ * <pre>
+ * P1 --> RB --> C1
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OneToOneSequencedThroughputBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @State(Scope.Benchmark)
+    public static class RingBufferState
+    {
+        @Param({"YIELDING", "BLOCKING"})
+        public WaitStrategyOption waitStrategy;
+
+        RingBuffer<ValueEntry> ringBuffer;
+        BatchEventConsumer<ValueEntry> consumer;
+        EntryClaimer<ValueEntry> entryClaimer;
+        SequenceBatch sequenceBatch;
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, BUFFER_SIZE,
+                                          SequenceClaimThreadingStrategy.SINGLE_THREAD, waitStrategy);
+            consumer = new BatchEventConsumer<>(ringBuffer.createBarrier(), new ValueAdditionHandler());
+            entryClaimer = new EntryClaimer<>(new YieldingSlotClaimer<>(0, ringBuffer, consumer));
+            sequenceBatch = new SequenceBatch(BATCH_SIZE);
+
+            executor = newExecutor(1);
+            executor.submit(consumer);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException
+        {
+            halt(executor, consumer);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class QueueState
+    {
+        BlockingQueue<Long> queue;
+        ValueQueueProcessor processor;
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            queue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+            processor = new ValueQueueProcessor(queues(queue), queues());
+
+            executor = newExecutor(1);
+            executor.submit(processor);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException
+        {
+            halt(executor);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public void ringBuffer(final RingBufferState state)
+    {
+        final EntryClaimer<ValueEntry> entryClaimer = state.entryClaimer;
+        final long expectedSequence = state.ringBuffer.getCursor() + ITERATIONS;
+
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            ValueEntry entry = entryClaimer.claimNext();
+            entry.setValue(i);
+            entry.commit();
+        }
+
+        waitFor(state.consumer, expectedSequence);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public void ringBufferBatched(final RingBufferState state)
+    {
+        final RingBuffer<ValueEntry> ringBuffer = state.ringBuffer;
+        final EntryClaimer<ValueEntry> entryClaimer = state.entryClaimer;
+        final SequenceBatch sequenceBatch = state.sequenceBatch;
+        final long expectedSequence = ringBuffer.getCursor() + ITERATIONS;
+
+        for (long i = 0; i < ITERATIONS; i += BATCH_SIZE)
+        {
+            entryClaimer.claimNext(sequenceBatch);
+            for (long sequence = sequenceBatch.getStart(); sequence <= sequenceBatch.getEnd(); sequence++)
+            {
+                ringBuffer.get(sequence).setValue(sequence);
+            }
+            entryClaimer.commit(sequenceBatch);
+        }
+
+        waitFor(state.consumer, expectedSequence);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public void arrayBlockingQueue(final QueueState state) throws InterruptedException
+    {
+        final BlockingQueue<Long> queue = state.queue;
+        final long expectedSequence = state.processor.getSequence() + ITERATIONS;
+
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            queue.put(Long.valueOf(i));
+        }
+
+        waitFor(state.processor, expectedSequence);
+    }
+}
@@ -0,0 +1,163 @@
+package org.garry.disruptor_clone.perf;
+
+import org.garry.disruptor_clone.BatchEventConsumer;
+import org.garry.disruptor_clone.EntryClaimer;
+import org.garry.disruptor_clone.RingBuffer;
+import org.garry.disruptor_clone.SequenceClaimThreadingStrategy;
+import org.garry.disruptor_clone.SlotClaimer;
+import org.garry.disruptor_clone.ThresholdBarrier;
+import org.garry.disruptor_clone.WaitStrategyOption;
+import org.garry.disruptor_clone.YieldingSlotClaimer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.garry.disruptor_clone.perf.PerfSupport.BUFFER_SIZE;
+import static org.garry.disruptor_clone.perf.PerfSupport.ITERATIONS;
+import static org.garry.disruptor_clone.perf.PerfSupport.halt;
+import static org.garry.disruptor_clone.perf.PerfSupport.newExecutor;
+import static org.garry.disruptor_clone.perf.PerfSupport.queues;
+import static org.garry.disruptor_clone.perf.PerfSupport.waitFor;
+
+/**
+ * Multicast: one producer to three consumers that each see every event
+ *
+ * <pre>
+ *            +--> C1
+ *            |
+ * P1 --> RB -+--> C2
+ *            |
+ *            +--> C3
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OneToThreeMulticastThroughputBenchmark {
+
+    private static final int NUM_CONSUMERS = 3;
+
+    @State(Scope.Benchmark)
+    public static class RingBufferState
+    {
+        @Param({"YIELDING", "BLOCKING"})
+        public WaitStrategyOption waitStrategy;
+
+        RingBuffer<ValueEntry> ringBuffer;
+        BatchEventConsumer<ValueEntry>[] consumers;
+        EntryClaimer<ValueEntry> entryClaimer;
+        ExecutorService executor;
+
+        @SuppressWarnings("unchecked")
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, BUFFER_SIZE,
+                                          SequenceClaimThreadingStrategy.SINGLE_THREAD, waitStrategy);
+            ThresholdBarrier<ValueEntry> barrier = ringBuffer.createBarrier();
+            consumers = new BatchEventConsumer[NUM_CONSUMERS];
+            executor = newExecutor(NUM_CONSUMERS);
+            for (int i = 0; i < NUM_CONSUMERS; i++)
+            {
+                consumers[i] = new BatchEventConsumer<>(barrier, new ValueAdditionHandler());
+                executor.submit(consumers[i]);
+            }
+            entryClaimer = new EntryClaimer<>(new YieldingSlotClaimer<>(0, ringBuffer, consumers));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException
+        {
+            halt(executor, consumers);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class QueueState
+    {
+        BlockingQueue<Long>[] queues;
+        ValueQueueProcessor[] processors;
+        ExecutorService executor;
+
+        @SuppressWarnings("unchecked")
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            queues = new BlockingQueue[NUM_CONSUMERS];
+            processors = new ValueQueueProcessor[NUM_CONSUMERS];
+            executor = newExecutor(NUM_CONSUMERS);
+            for (int i = 0; i < NUM_CONSUMERS; i++)
+            {
+                queues[i] = new ArrayBlockingQueue<>(BUFFER_SIZE);
+                processors[i] = new ValueQueueProcessor(queues(queues[i]), queues());
+                executor.submit(processors[i]);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException
+        {
+            halt(executor);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public void ringBuffer(final RingBufferState state)
+    {
+        final EntryClaimer<ValueEntry> entryClaimer = state.entryClaimer;
+        final long expectedSequence = state.ringBuffer.getCursor() + ITERATIONS;
+
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            ValueEntry entry = entryClaimer.claimNext();
+            entry.setValue(i);
+            entry.commit();
+        }
+
+        for (BatchEventConsumer<ValueEntry> consumer : state.consumers)
+        {
+            waitFor(consumer, expectedSequence);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public void arrayBlockingQueue(final QueueState state) throws InterruptedException
+    {
+        final BlockingQueue<Long>[] queues = state.queues;
+        final long expectedSequence = state.processors[0].getSequence() + ITERATIONS;
+
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            Long value = Long.valueOf(i);
+            for (BlockingQueue<Long> queue : queues)
+            {
+                queue.put(value);
+            }
+        }
+
+        for (ValueQueueProcessor processor : state.processors)
+        {
+            waitFor(processor, expectedSequence);
+        }
+    }
+}
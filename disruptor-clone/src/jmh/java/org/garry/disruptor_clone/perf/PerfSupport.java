@@ -0,0 +1,69 @@
+package org.garry.disruptor_clone.perf;
+
+import org.garry.disruptor_clone.EventConsumer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Common plumbing for the benchmarks
+ */
+final class PerfSupport {
+
+    static final int BUFFER_SIZE = 1024 * 64;
+    static final int ITERATIONS = 1000 * 1000;
+
+    private PerfSupport()
+    {
+    }
+
+    static ExecutorService newExecutor(final int threads)
+    {
+        return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                Thread t = new Thread(r);
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    @SafeVarargs
+    static List<BlockingQueue<Long>> queues(final BlockingQueue<Long>... queues)
+    {
+        return Arrays.asList(queues);
+    }
+
+    static void waitFor(final EventConsumer eventConsumer, final long sequence)
+    {
+        while (eventConsumer.getSequence() < sequence)
+        {
+            Thread.yield();
+        }
+    }
+
+    static void waitFor(final ValueQueueProcessor processor, final long sequence)
+    {
+        while (processor.getSequence() < sequence)
+        {
+            Thread.yield();
+        }
+    }
+
+    static void halt(final ExecutorService executor, final EventConsumer... eventConsumers)
+            throws InterruptedException
+    {
+        for (EventConsumer eventConsumer : eventConsumers)
+        {
+            eventConsumer.halt();
+        }
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,102 @@
+package org.garry.disruptor_clone.perf;
+
+import org.garry.disruptor_clone.EventTranslatorOneArg;
+import org.garry.disruptor_clone.ShardedRingBuffer;
+import org.garry.disruptor_clone.WaitStrategyOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.garry.disruptor_clone.perf.PerfSupport.BUFFER_SIZE;
+import static org.garry.disruptor_clone.perf.PerfSupport.halt;
+import static org.garry.disruptor_clone.perf.PerfSupport.newExecutor;
+
+/**
+ * Producers publishing through a {@link ShardedRingBuffer}, each under its own key so it always
+ * hits the same shard, comparing a single shard against one shard per producer
+ *
+ * <pre>
+ * P1 --+            +--> RB1 --> C1
+ * P2 --+-- shard ---+--> RB2 --> C2
+ *  ... |            |    ...
+ * Pn --+            +--> RBk --> Ck
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(ShardedProducersThroughputBenchmark.PRODUCERS)
+public class ShardedProducersThroughputBenchmark {
+
+    static final int PRODUCERS = 4;
+
+    private static final EventTranslatorOneArg<ValueEntry, Long> TRANSLATOR =
+        (entry, value) -> entry.setValue(value.longValue());
+
+    @State(Scope.Benchmark)
+    public static class ShardedState
+    {
+        @Param({"1", "4"})
+        public int shards;
+
+        ShardedRingBuffer<ValueEntry> shardedRingBuffer;
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            executor = newExecutor(shards);
+            shardedRingBuffer = new ShardedRingBuffer<>(shards, PRODUCERS, ValueEntry.FACTORY,
+                                                        BUFFER_SIZE / shards, executor,
+                                                        WaitStrategyOption.YIELDING,
+                                                        (shard, disruptor) ->
+                                                            disruptor.handleEventsWith(new ValueAdditionHandler()));
+            shardedRingBuffer.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException
+        {
+            shardedRingBuffer.halt();
+            halt(executor);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ProducerState
+    {
+        private static final AtomicLong NEXT_KEY = new AtomicLong();
+
+        Long key;
+        long value;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            key = Long.valueOf(NEXT_KEY.getAndIncrement());
+        }
+    }
+
+    @Benchmark
+    public long publish(final ShardedState state, final ProducerState producer)
+    {
+        return state.shardedRingBuffer.publishEvent(producer.key, TRANSLATOR, Long.valueOf(producer.value++));
+    }
+}
@@ -0,0 +1,146 @@
+package org.garry.disruptor_clone.perf;
+
+import org.garry.disruptor_clone.BatchEventConsumer;
+import org.garry.disruptor_clone.EntryClaimer;
+import org.garry.disruptor_clone.RingBuffer;
+import org.garry.disruptor_clone.SequenceClaimThreadingStrategy;
+import org.garry.disruptor_clone.SlotClaimer;
+import org.garry.disruptor_clone.WaitStrategyOption;
+import org.garry.disruptor_clone.YieldingSlotClaimer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.garry.disruptor_clone.perf.PerfSupport.BUFFER_SIZE;
+import static org.garry.disruptor_clone.perf.PerfSupport.ITERATIONS;
+import static org.garry.disruptor_clone.perf.PerfSupport.halt;
+import static org.garry.disruptor_clone.perf.PerfSupport.newExecutor;
+import static org.garry.disruptor_clone.perf.PerfSupport.queues;
+import static org.garry.disruptor_clone.perf.PerfSupport.waitFor;
+
+/**
+ * Pipeline: one producer to three consumers in series, each stage gated on the one before
+ *
+ * <pre>
+ * P1 --> RB --> C1 --> C2 --> C3
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ThreeStepPipelineThroughputBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RingBufferState
+    {
+        @Param({"YIELDING", "BLOCKING"})
+        public WaitStrategyOption waitStrategy;
+
+        RingBuffer<ValueEntry> ringBuffer;
+        BatchEventConsumer<ValueEntry> stepOne;
+        BatchEventConsumer<ValueEntry> stepTwo;
+        BatchEventConsumer<ValueEntry> stepThree;
+        EntryClaimer<ValueEntry> entryClaimer;
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, BUFFER_SIZE,
+                                          SequenceClaimThreadingStrategy.SINGLE_THREAD, waitStrategy);
+            stepOne = new BatchEventConsumer<>(ringBuffer.createBarrier(), new ValueAdditionHandler());
+            stepTwo = new BatchEventConsumer<>(ringBuffer.createBarrier(stepOne), new ValueAdditionHandler());
+            stepThree = new BatchEventConsumer<>(ringBuffer.createBarrier(stepTwo), new ValueAdditionHandler());
+            entryClaimer = new EntryClaimer<>(new YieldingSlotClaimer<>(0, ringBuffer, stepThree));
+
+            executor = newExecutor(3);
+            executor.submit(stepOne);
+            executor.submit(stepTwo);
+            executor.submit(stepThree);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException
+        {
+            halt(executor, stepOne, stepTwo, stepThree);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class QueueState
+    {
+        BlockingQueue<Long> stepOneQueue;
+        ValueQueueProcessor stepThree;
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            stepOneQueue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+            BlockingQueue<Long> stepTwoQueue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+            BlockingQueue<Long> stepThreeQueue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+            stepThree = new ValueQueueProcessor(queues(stepThreeQueue), queues());
+
+            executor = newExecutor(3);
+            executor.submit(new ValueQueueProcessor(queues(stepOneQueue), queues(stepTwoQueue)));
+            executor.submit(new ValueQueueProcessor(queues(stepTwoQueue), queues(stepThreeQueue)));
+            executor.submit(stepThree);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException
+        {
+            halt(executor);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public void ringBuffer(final RingBufferState state)
+    {
+        final EntryClaimer<ValueEntry> entryClaimer = state.entryClaimer;
+        final long expectedSequence = state.ringBuffer.getCursor() + ITERATIONS;
+
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            ValueEntry entry = entryClaimer.claimNext();
+            entry.setValue(i);
+            entry.commit();
+        }
+
+        waitFor(state.stepThree, expectedSequence);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public void arrayBlockingQueue(final QueueState state) throws InterruptedException
+    {
+        final BlockingQueue<Long> queue = state.stepOneQueue;
+        final long expectedSequence = state.stepThree.getSequence() + ITERATIONS;
+
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            queue.put(Long.valueOf(i));
+        }
+
+        waitFor(state.stepThree, expectedSequence);
+    }
+}
@@ -0,0 +1,147 @@
+package org.garry.disruptor_clone.perf;
+
+import org.garry.disruptor_clone.BatchEventConsumer;
+import org.garry.disruptor_clone.EntryClaimer;
+import org.garry.disruptor_clone.RingBuffer;
+import org.garry.disruptor_clone.SequenceClaimThreadingStrategy;
+import org.garry.disruptor_clone.WaitStrategyOption;
+import org.garry.disruptor_clone.YieldingSlotClaimer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.garry.disruptor_clone.perf.PerfSupport.BUFFER_SIZE;
+import static org.garry.disruptor_clone.perf.PerfSupport.ITERATIONS;
+import static org.garry.disruptor_clone.perf.PerfSupport.halt;
+import static org.garry.disruptor_clone.perf.PerfSupport.newExecutor;
+import static org.garry.disruptor_clone.perf.PerfSupport.queues;
+import static org.garry.disruptor_clone.perf.PerfSupport.waitFor;
+
+/**
+ * Sequencer: three producers to one consumer
+ *
+ * <pre>
+ * P1 --+
+ *      |
+ * P2 --+--> RB --> C1
+ *      |
+ * P3 --+
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ThreeToOneSequencedThroughputBenchmark {
+
+    private static final int NUM_PUBLISHERS = 3;
+    private static final int PUBLISHER_ITERATIONS = ITERATIONS / NUM_PUBLISHERS;
+    private static final int OPERATIONS = PUBLISHER_ITERATIONS * NUM_PUBLISHERS;
+
+    @State(Scope.Benchmark)
+    public static class RingBufferState
+    {
+        @Param({"MULTI_THREADED", "MULTI_THREADED_AVAILABILITY"})
+        public SequenceClaimThreadingStrategy claimStrategy;
+
+        @Param({"YIELDING", "BLOCKING"})
+        public WaitStrategyOption waitStrategy;
+
+        RingBuffer<ValueEntry> ringBuffer;
+        BatchEventConsumer<ValueEntry> consumer;
+        CyclicBarrier cyclicBarrier;
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, BUFFER_SIZE, claimStrategy, waitStrategy);
+            consumer = new BatchEventConsumer<>(ringBuffer.createBarrier(), new ValueAdditionHandler());
+            EntryClaimer<ValueEntry> entryClaimer =
+                new EntryClaimer<>(new YieldingSlotClaimer<>(NUM_PUBLISHERS, ringBuffer, consumer));
+            cyclicBarrier = new CyclicBarrier(NUM_PUBLISHERS + 1);
+
+            executor = newExecutor(NUM_PUBLISHERS + 1);
+            executor.submit(consumer);
+            for (int i = 0; i < NUM_PUBLISHERS; i++)
+            {
+                executor.submit(new ValuePublisher(cyclicBarrier, entryClaimer, PUBLISHER_ITERATIONS));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException
+        {
+            halt(executor, consumer);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class QueueState
+    {
+        ValueQueueProcessor processor;
+        CyclicBarrier cyclicBarrier;
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            BlockingQueue<Long> queue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+            processor = new ValueQueueProcessor(queues(queue), queues());
+            cyclicBarrier = new CyclicBarrier(NUM_PUBLISHERS + 1);
+
+            executor = newExecutor(NUM_PUBLISHERS + 1);
+            executor.submit(processor);
+            for (int i = 0; i < NUM_PUBLISHERS; i++)
+            {
+                executor.submit(new ValueQueuePublisher(cyclicBarrier, queue, PUBLISHER_ITERATIONS));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException
+        {
+            halt(executor);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void ringBuffer(final RingBufferState state) throws Exception
+    {
+        final long expectedSequence = state.ringBuffer.getCursor() + OPERATIONS;
+
+        state.cyclicBarrier.await();
+
+        waitFor(state.consumer, expectedSequence);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void arrayBlockingQueue(final QueueState state) throws Exception
+    {
+        final long expectedSequence = state.processor.getSequence() + OPERATIONS;
+
+        state.cyclicBarrier.await();
+
+        waitFor(state.processor, expectedSequence);
+    }
+}
@@ -0,0 +1,32 @@
+package org.garry.disruptor_clone.perf;
+
+import org.garry.disruptor_clone.EventHandler;
+
+/**
+ * Handler doing the minimum of work on each event so the cost of the exchange dominates
+ */
+public final class ValueAdditionHandler implements EventHandler<ValueEntry> {
+
+    private long value;
+
+    public long getValue()
+    {
+        return value;
+    }
+
+    @Override
+    public void onEvent(final ValueEntry entry)
+    {
+        value += entry.getValue();
+    }
+
+    @Override
+    public void onEndOfBatch()
+    {
+    }
+
+    @Override
+    public void onCompletion()
+    {
+    }
+}
@@ -0,0 +1,26 @@
+package org.garry.disruptor_clone.perf;
+
+import org.garry.disruptor_clone.AbstractEntry;
+import org.garry.disruptor_clone.Factory;
+
+public final class ValueEntry extends AbstractEntry {
+
+    private long value;
+
+    public long getValue()
+    {
+        return value;
+    }
+
+    public void setValue(final long value)
+    {
+        this.value = value;
+    }
+
+    public final static Factory<ValueEntry> FACTORY = new Factory<ValueEntry>() {
+        @Override
+        public ValueEntry create() {
+            return new ValueEntry();
+        }
+    };
+}
@@ -0,0 +1,47 @@
+package org.garry.disruptor_clone.perf;
+
+import org.garry.disruptor_clone.EntryClaimer;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Publisher thread for the multi producer benchmarks, publishing a run of values each time the barrier trips
+ */
+public final class ValuePublisher implements Runnable {
+
+    private final CyclicBarrier cyclicBarrier;
+    private final EntryClaimer<ValueEntry> entryClaimer;
+    private final long iterations;
+
+    public ValuePublisher(final CyclicBarrier cyclicBarrier,
+                          final EntryClaimer<ValueEntry> entryClaimer,
+                          final long iterations)
+    {
+        this.cyclicBarrier = cyclicBarrier;
+        this.entryClaimer = entryClaimer;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run()
+    {
+        try
+        {
+            while (true)
+            {
+                cyclicBarrier.await();
+                for (long i = 0; i < iterations; i++)
+                {
+                    ValueEntry entry = entryClaimer.claimNext();
+                    entry.setValue(i);
+                    entry.commit();
+                }
+            }
+        }
+        catch (InterruptedException | BrokenBarrierException ex)
+        {
+            // halted by the benchmark tear down
+        }
+    }
+}
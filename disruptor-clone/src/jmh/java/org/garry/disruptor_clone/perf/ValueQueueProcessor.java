@@ -0,0 +1,62 @@
+package org.garry.disruptor_clone.perf;
+
+import org.garry.disruptor_clone.Sequence;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Queue based equivalent of a consumer with a {@link ValueAdditionHandler} used for the baselines.
+ * Takes a value from each inbound queue in turn, so a processor with several inbound queues joins them,
+ * then passes the value on to every outbound queue.
+ */
+public final class ValueQueueProcessor implements Runnable {
+
+    private final Sequence sequence = new Sequence();
+    private final List<BlockingQueue<Long>> inbound;
+    private final List<BlockingQueue<Long>> outbound;
+    private long value;
+
+    public ValueQueueProcessor(final List<BlockingQueue<Long>> inbound, final List<BlockingQueue<Long>> outbound)
+    {
+        this.inbound = inbound;
+        this.outbound = outbound;
+    }
+
+    public long getSequence()
+    {
+        return sequence.get();
+    }
+
+    public long getValue()
+    {
+        return value;
+    }
+
+    @Override
+    public void run()
+    {
+        try
+        {
+            while (!Thread.currentThread().isInterrupted())
+            {
+                Long next = null;
+                for (BlockingQueue<Long> queue : inbound)
+                {
+                    next = queue.take();
+                }
+                value += next.longValue();
+
+                for (BlockingQueue<Long> queue : outbound)
+                {
+                    queue.put(next);
+                }
+                sequence.lazySet(sequence.get() + 1);
+            }
+        }
+        catch (InterruptedException ex)
+        {
+            // halted by the benchmark tear down
+        }
+    }
+}
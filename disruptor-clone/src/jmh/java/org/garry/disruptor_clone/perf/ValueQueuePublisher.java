@@ -0,0 +1,44 @@
+package org.garry.disruptor_clone.perf;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Queue based equivalent of {@link ValuePublisher} used for the baselines
+ */
+public final class ValueQueuePublisher implements Runnable {
+
+    private final CyclicBarrier cyclicBarrier;
+    private final BlockingQueue<Long> queue;
+    private final long iterations;
+
+    public ValueQueuePublisher(final CyclicBarrier cyclicBarrier,
+                               final BlockingQueue<Long> queue,
+                               final long iterations)
+    {
+        this.cyclicBarrier = cyclicBarrier;
+        this.queue = queue;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run()
+    {
+        try
+        {
+            while (true)
+            {
+                cyclicBarrier.await();
+                for (long i = 0; i < iterations; i++)
+                {
+                    queue.put(Long.valueOf(i));
+                }
+            }
+        }
+        catch (InterruptedException | BrokenBarrierException ex)
+        {
+            // halted by the benchmark tear down
+        }
+    }
+}
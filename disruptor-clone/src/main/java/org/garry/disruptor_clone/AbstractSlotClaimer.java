@@ -1,14 +1,27 @@
 package org.garry.disruptor_clone;
 
-public abstract class AbstractSlotClaimer<T extends Entry> implements SlotClaimer<T> {
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+public abstract class AbstractSlotClaimer<T> implements SlotClaimer<T> {
+
+    private static final long NO_TIMEOUT = Long.MAX_VALUE;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<AbstractSlotClaimer, GatingSequence[]> GATING_UPDATER =
+        AtomicReferenceFieldUpdater.newUpdater(AbstractSlotClaimer.class, GatingSequence[].class,
+                                               "gatingEventConsumers");
 
     private final int bufferReverseThreshold;
     private final RingBuffer<? extends T> ringBuffer;
-    private final EventConsumer[] gatingEventConsumers;
+    private volatile GatingSequence[] gatingEventConsumers;
+    private final Sequence cachedConsumedEventSequence = new Sequence();
+    private Histogram waitTimeHistogram;
 
     public AbstractSlotClaimer(final int bufferReverseThreshold,
                                final RingBuffer<? extends T> ringBuffer,
-                               final EventConsumer[] gatingEventConsumers)
+                               final GatingSequence[] gatingEventConsumers)
     {
         if(null == ringBuffer)
         {
@@ -21,21 +34,296 @@ public abstract class AbstractSlotClaimer<T extends Entry> implements SlotClaime
         }
         this.bufferReverseThreshold = bufferReverseThreshold;
         this.ringBuffer = ringBuffer;
-        this.gatingEventConsumers = gatingEventConsumers;
+        // copied into a GatingSequence[] so an EventConsumer[] passed in can still have other GatingSequences added
+        this.gatingEventConsumers = Arrays.copyOf(gatingEventConsumers, gatingEventConsumers.length,
+                                                  GatingSequence[].class);
+    }
+
+    @Override
+    public long next()
+    {
+        waitForCapacity(0L, NO_TIMEOUT);
+        return ringBuffer.next();
+    }
+
+    @Override
+    public SequenceBatch next(final SequenceBatch sequenceBatch)
+    {
+        checkBatchSize(sequenceBatch, ringBuffer.getCapacity() - bufferReverseThreshold);
+
+        waitForCapacity(sequenceBatch.getSize() - 1L, NO_TIMEOUT);
+        return ringBuffer.next(sequenceBatch);
+    }
+
+    @Override
+    public void publish(final long sequence)
+    {
+        ringBuffer.publish(sequence);
+    }
+
+    @Override
+    public void publish(final SequenceBatch sequenceBatch)
+    {
+        ringBuffer.publish(sequenceBatch);
+    }
+
+    @Override
+    public long next(final long timeout, final TimeUnit units)
+    {
+        if (!waitForCapacity(0L, units.toNanos(timeout)))
+        {
+            return -1L;
+        }
+
+        return ringBuffer.next();
+    }
+
+    @Override
+    public SequenceBatch next(final SequenceBatch sequenceBatch, final long timeout, final TimeUnit units)
+    {
+        checkBatchSize(sequenceBatch, ringBuffer.getCapacity() - bufferReverseThreshold);
+
+        if (!waitForCapacity(sequenceBatch.getSize() - 1L, units.toNanos(timeout)))
+        {
+            return null;
+        }
+
+        return ringBuffer.next(sequenceBatch);
+    }
+
+    @Override
+    public long tryNext()
+    {
+        final long threshold = ringBuffer.getCapacity() - bufferReverseThreshold;
+        if (!hasCapacity(ringBuffer.getClaimedSequence(), threshold))
+        {
+            return -1L;
+        }
+
+        return ringBuffer.next();
     }
 
-    public abstract T claimNext();
+    @Override
+    public SequenceBatch tryNext(final SequenceBatch sequenceBatch)
+    {
+        final long threshold = ringBuffer.getCapacity() - bufferReverseThreshold;
+        checkBatchSize(sequenceBatch, threshold);
+
+        if (!hasCapacity(ringBuffer.getClaimedSequence() + sequenceBatch.getSize() - 1L, threshold))
+        {
+            return null;
+        }
+
+        return ringBuffer.next(sequenceBatch);
+    }
+
+    @Override
+    @Deprecated
+    public T claimNext()
+    {
+        return ringBuffer.entryToPublish(next());
+    }
+
+    @Override
+    @Deprecated
+    public T claimSequence(final long sequence)
+    {
+        claim(sequence);
+        return ringBuffer.entryToForcePublish(sequence);
+    }
+
+    @Override
+    public void claim(final long sequence)
+    {
+        final long threshold = ringBuffer.getCapacity() - bufferReverseThreshold;
+        if (!hasCapacity(sequence, threshold))
+        {
+            final long start = System.nanoTime();
+            int counter = 0;
+            do
+            {
+                counter = backOff(counter);
+            }
+            while (!hasCapacity(sequence, threshold));
+
+            recordWaitTime(start);
+        }
+    }
+
+    @Override
+    public void forcePublish(final long sequence)
+    {
+        ringBuffer.forcePublish(sequence);
+    }
+
+    @Override
+    public long publishEvent(final EventTranslator<T> translator)
+    {
+        final long sequence = next();
+        try
+        {
+            translator.translateTo(ringBuffer.get(sequence));
+        }
+        finally
+        {
+            ringBuffer.publish(sequence);
+        }
+
+        return sequence;
+    }
+
+    @Override
+    public <A> long publishEvent(final EventTranslatorOneArg<T, A> translator, final A arg0)
+    {
+        final long sequence = next();
+        try
+        {
+            translator.translateTo(ringBuffer.get(sequence), arg0);
+        }
+        finally
+        {
+            ringBuffer.publish(sequence);
+        }
+
+        return sequence;
+    }
+
+    @Override
+    public <A, B> long publishEvent(final EventTranslatorTwoArg<T, A, B> translator, final A arg0, final B arg1)
+    {
+        final long sequence = next();
+        try
+        {
+            translator.translateTo(ringBuffer.get(sequence), arg0, arg1);
+        }
+        finally
+        {
+            ringBuffer.publish(sequence);
+        }
+
+        return sequence;
+    }
+
+    @Override
+    public <A, B, C> long publishEvent(final EventTranslatorThreeArg<T, A, B, C> translator,
+                                       final A arg0, final B arg1, final C arg2)
+    {
+        final long sequence = next();
+        try
+        {
+            translator.translateTo(ringBuffer.get(sequence), arg0, arg1, arg2);
+        }
+        finally
+        {
+            ringBuffer.publish(sequence);
+        }
+
+        return sequence;
+    }
+
+    @Override
+    public long remainingCapacity()
+    {
+        final long threshold = ringBuffer.getCapacity() - bufferReverseThreshold;
+        final long consumedEventSequence = getConsumedEventSequence();
+        cachedConsumedEventSequence.lazySet(consumedEventSequence);
+
+        final long remaining = threshold - (ringBuffer.getClaimedSequence() - consumedEventSequence);
+        return remaining > 0L ? remaining : 0L;
+    }
+
+    /**
+     * Set a {@link Histogram} to record the nanoseconds claims spend waiting for capacity, which is only
+     * measured when a claim actually has to wait. Must be set before the claimer is shared with producer threads.
+     * @param waitTimeHistogram to record wait times or null to stop recording
+     */
+    public void setWaitTimeHistogram(final Histogram waitTimeHistogram)
+    {
+        this.waitTimeHistogram = waitTimeHistogram;
+    }
+
+    /**
+     * Wait for capacity to claim the slots from the next unclaimed sequence up to the given offset from it
+     * @param lastOffset from the next unclaimed sequence of the last slot to be claimed
+     * @param timeoutNanos to wait before giving up
+     * @return true if capacity is available or false if the timeout expired
+     */
+    private boolean waitForCapacity(final long lastOffset, final long timeoutNanos)
+    {
+        final long threshold = ringBuffer.getCapacity() - bufferReverseThreshold;
+        if (hasCapacity(ringBuffer.getClaimedSequence() + lastOffset, threshold))
+        {
+            return true;
+        }
+
+        final long start = System.nanoTime();
+        int counter = 0;
+        do
+        {
+            if (System.nanoTime() - start >= timeoutNanos)
+            {
+                recordWaitTime(start);
+                return false;
+            }
+            counter = backOff(counter);
+        }
+        while (!hasCapacity(ringBuffer.getClaimedSequence() + lastOffset, threshold));
+
+        recordWaitTime(start);
+        return true;
+    }
+
+    private void recordWaitTime(final long start)
+    {
+        final Histogram histogram = waitTimeHistogram;
+        if (null != histogram)
+        {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Back off while waiting for capacity in the {@link RingBuffer} to claim a slot
+     * @param counter returned from the previous back off for this claim, starting at zero
+     * @return the counter to be passed to the next back off
+     */
+    protected abstract int backOff(int counter);
+
+    /**
+     * Check a batch of the given size can be claimed without ever having to wait on more than the threshold
+     * @param sequenceBatch to be claimed
+     * @param threshold for the number of slots that may be in use
+     */
+    protected static void checkBatchSize(final SequenceBatch sequenceBatch, final long threshold)
+    {
+        if (sequenceBatch.getSize() > threshold)
+        {
+            throw new IllegalArgumentException("batch size must not be greater than " + threshold);
+        }
+    }
 
     @Override
     public RingBuffer<? extends T> getRingBuffer() {
        return ringBuffer;
     }
 
+    @Override
+    public void addGatingEventConsumers(final GatingSequence... eventConsumers)
+    {
+        EventConsumerGroups.addEventConsumers(this, GATING_UPDATER, ringBuffer, eventConsumers);
+    }
+
+    @Override
+    public boolean removeGatingEventConsumer(final GatingSequence eventConsumer)
+    {
+        return EventConsumerGroups.removeEventConsumer(this, GATING_UPDATER, eventConsumer);
+    }
+
     @Override
     public long getConsumedEventSequence() {
         long minimum = ringBuffer.getCursor();
 
-        for(EventConsumer consumer: gatingEventConsumers)
+        for(GatingSequence consumer: gatingEventConsumers)
         {
             long sequence = consumer.getSequence();
             minimum = minimum < sequence ? minimum : sequence;
@@ -44,6 +332,30 @@ public abstract class AbstractSlotClaimer<T extends Entry> implements SlotClaime
         return minimum;
     }
 
+    /**
+     * Check if a sequence can be claimed without wrapping past the slowest {@link GatingSequence}.
+     *
+     * The last known consumed sequence is cached so the {@link GatingSequence}s are only rescanned
+     * when the cached value would block the claim. A stale cached value is always behind the real one,
+     * so it can only cause a rescan, never an overrun.
+     *
+     * @param sequence to be claimed
+     * @param threshold for the number of slots that may be in use
+     * @return true if the sequence can be claimed
+     */
+    protected boolean hasCapacity(final long sequence, final long threshold)
+    {
+        if (sequence - cachedConsumedEventSequence.get() < threshold)
+        {
+            return true;
+        }
+
+        final long consumedEventSequence = getConsumedEventSequence();
+        cachedConsumedEventSequence.lazySet(consumedEventSequence);
+
+        return sequence - consumedEventSequence < threshold;
+    }
+
     protected int getBufferReverseThreshold() {
         return bufferReverseThreshold;
     }
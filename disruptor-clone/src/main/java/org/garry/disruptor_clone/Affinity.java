@@ -0,0 +1,183 @@
+package org.garry.disruptor_clone;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Pins the calling thread to a CPU on Linux.
+ *
+ * sched_setaffinity is called through the Java foreign function API, which is looked up reflectively so the library
+ * does not need to be compiled for a JVM that has it. On an older JVM, such as 17, the thread is left unpinned and
+ * false is returned, as it is when pinning is not permitted.
+ *
+ * Forking taskset for the thread id read from /proc/thread-self can stand in for the foreign function API, but it
+ * starts a process for every pinned thread, so it is only used when opted into by setting the system property
+ * {@value #TASKSET_FALLBACK_PROPERTY} to true.
+ */
+final class Affinity {
+
+    static final String TASKSET_FALLBACK_PROPERTY = "org.garry.disruptor_clone.affinity.taskset";
+
+    private static final int MASK_LONGS = 16;
+    private static final boolean TASKSET_FALLBACK = Boolean.getBoolean(TASKSET_FALLBACK_PROPERTY);
+    private static final NativeAffinity NATIVE_AFFINITY = lookupNativeAffinity();
+
+    private Affinity()
+    {
+    }
+
+    /**
+     * Pin the calling thread to a CPU
+     * @param cpu to pin to
+     * @return true if the thread was pinned
+     */
+    static boolean pinCurrentThread(final int cpu)
+    {
+        if (cpu < 0 || cpu >= MASK_LONGS * Long.SIZE)
+        {
+            return false;
+        }
+
+        if (null != NATIVE_AFFINITY)
+        {
+            return NATIVE_AFFINITY.pinCurrentThread(cpu);
+        }
+
+        return TASKSET_FALLBACK && pinWithTaskset(cpu);
+    }
+
+    /**
+     * Check if pinning goes through the foreign function API rather than taskset
+     * @return true if sched_setaffinity is called directly
+     */
+    static boolean isNativeAffinitySupported()
+    {
+        return null != NATIVE_AFFINITY;
+    }
+
+    private static boolean pinWithTaskset(final int cpu)
+    {
+        try
+        {
+            final Path threadSelf = Files.readSymbolicLink(Paths.get("/proc/thread-self"));
+            final String tid = threadSelf.getFileName().toString();
+
+            final Process process = new ProcessBuilder("taskset", "-p", "-c", Integer.toString(cpu), tid)
+                .redirectErrorStream(true)
+                .start();
+            try (InputStream output = process.getInputStream())
+            {
+                while (-1 != output.read())
+                {
+                    // drain so the process cannot block on a full pipe
+                }
+            }
+
+            return 0 == process.waitFor();
+        }
+        catch (final IOException | UnsupportedOperationException | SecurityException ex)
+        {
+            return false;
+        }
+        catch (final InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static NativeAffinity lookupNativeAffinity()
+    {
+        if (!System.getProperty("os.name", "").toLowerCase().contains("linux"))
+        {
+            return null;
+        }
+
+        try
+        {
+            return new NativeAffinity();
+        }
+        catch (final ReflectiveOperationException | RuntimeException | LinkageError ex)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Downcall to sched_setaffinity(0, size, mask) through java.lang.foreign
+     */
+    private static final class NativeAffinity
+    {
+        private final MethodHandle schedSetAffinity;
+        private final Method ofConfined;
+        private final Method allocate;
+        private final Method setAtIndex;
+        private final Object javaLong;
+
+        NativeAffinity() throws ReflectiveOperationException
+        {
+            final Class<?> linkerClass = Class.forName("java.lang.foreign.Linker");
+            final Class<?> symbolLookupClass = Class.forName("java.lang.foreign.SymbolLookup");
+            final Class<?> memorySegmentClass = Class.forName("java.lang.foreign.MemorySegment");
+            final Class<?> memoryLayoutClass = Class.forName("java.lang.foreign.MemoryLayout");
+            final Class<?> valueLayoutClass = Class.forName("java.lang.foreign.ValueLayout");
+            final Class<?> ofLongClass = Class.forName("java.lang.foreign.ValueLayout$OfLong");
+            final Class<?> functionDescriptorClass = Class.forName("java.lang.foreign.FunctionDescriptor");
+            final Class<?> linkerOptionClass = Class.forName("java.lang.foreign.Linker$Option");
+            final Class<?> arenaClass = Class.forName("java.lang.foreign.Arena");
+
+            final Object linker = linkerClass.getMethod("nativeLinker").invoke(null);
+            final Object lookup = linkerClass.getMethod("defaultLookup").invoke(linker);
+            final Optional<?> symbol = (Optional<?>) symbolLookupClass.getMethod("find", String.class)
+                .invoke(lookup, "sched_setaffinity");
+            if (!symbol.isPresent())
+            {
+                throw new ClassNotFoundException("sched_setaffinity");
+            }
+
+            final Object javaInt = valueLayoutClass.getField("JAVA_INT").get(null);
+            javaLong = valueLayoutClass.getField("JAVA_LONG").get(null);
+            final Object address = valueLayoutClass.getField("ADDRESS").get(null);
+
+            final Object argumentLayouts = Array.newInstance(memoryLayoutClass, 3);
+            Array.set(argumentLayouts, 0, javaInt);
+            Array.set(argumentLayouts, 1, javaLong);
+            Array.set(argumentLayouts, 2, address);
+            final Object descriptor = functionDescriptorClass
+                .getMethod("of", memoryLayoutClass, argumentLayouts.getClass())
+                .invoke(null, javaInt, argumentLayouts);
+
+            final Object noOptions = Array.newInstance(linkerOptionClass, 0);
+            schedSetAffinity = (MethodHandle) linkerClass
+                .getMethod("downcallHandle", memorySegmentClass, functionDescriptorClass, noOptions.getClass())
+                .invoke(linker, symbol.get(), descriptor, noOptions);
+
+            ofConfined = arenaClass.getMethod("ofConfined");
+            allocate = arenaClass.getMethod("allocate", long.class);
+            setAtIndex = memorySegmentClass.getMethod("setAtIndex", ofLongClass, long.class, long.class);
+        }
+
+        boolean pinCurrentThread(final int cpu)
+        {
+            try (AutoCloseable arena = (AutoCloseable) ofConfined.invoke(null))
+            {
+                final Object mask = allocate.invoke(arena, (long) MASK_LONGS * Long.BYTES);
+                setAtIndex.invoke(mask, javaLong, (long) (cpu / Long.SIZE), 1L << (cpu % Long.SIZE));
+
+                final Object result = schedSetAffinity.invokeWithArguments(0, (long) MASK_LONGS * Long.BYTES, mask);
+                return 0 == ((Integer) result).intValue();
+            }
+            catch (final Throwable ex)
+            {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates daemon threads that pin themselves to a CPU when they start, so spinning {@link EventConsumer}s and
+ * producers are not migrated between cores by the scheduler.
+ *
+ * CPUs are handed out in the order threads are created, cycling through the configured list, which suits a
+ * {@link Disruptor} as it starts consumers in the order they were declared. {@link #forPipeline(int)} plans the CPUs
+ * with a {@link CpuLayout} so neighbouring stages share sibling cores on one NUMA node.
+ *
+ * Pinning uses sched_setaffinity on Linux through the foreign function API, see {@link Affinity}. When it is not
+ * supported or not permitted the thread runs unpinned, which is counted by {@link #getUnpinnedThreadCount()}.
+ */
+public final class AffinityThreadFactory implements ThreadFactory, Executor {
+
+    private final int[] cpus;
+    private final AtomicInteger nextCpu = new AtomicInteger();
+    private final AtomicInteger pinnedThreads = new AtomicInteger();
+    private final AtomicInteger unpinnedThreads = new AtomicInteger();
+
+    /**
+     * @param cpus to pin threads to in the order they are created
+     */
+    public AffinityThreadFactory(final int... cpus)
+    {
+        if (0 == cpus.length)
+        {
+            throw new IllegalArgumentException("at least one cpu must be given");
+        }
+        this.cpus = cpus.clone();
+    }
+
+    /**
+     * Create a factory with CPUs planned by {@link CpuLayout#plan(int)} for this machine
+     * @param threads number of threads in the pipeline
+     * @return the factory
+     */
+    public static AffinityThreadFactory forPipeline(final int threads)
+    {
+        return new AffinityThreadFactory(CpuLayout.read().plan(threads));
+    }
+
+    @Override
+    public Thread newThread(final Runnable runnable)
+    {
+        final int cpu = cpus[Math.floorMod(nextCpu.getAndIncrement(), cpus.length)];
+        final Thread thread = new Thread(() ->
+        {
+            if (Affinity.pinCurrentThread(cpu))
+            {
+                pinnedThreads.incrementAndGet();
+            }
+            else
+            {
+                unpinnedThreads.incrementAndGet();
+            }
+            runnable.run();
+        }, "affinity-cpu-" + cpu);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @Override
+    public void execute(final Runnable command)
+    {
+        newThread(command).start();
+    }
+
+    /**
+     * Get the CPUs threads are pinned to, in the order they are handed out
+     * @return the CPUs
+     */
+    public int[] getCpus()
+    {
+        return cpus.clone();
+    }
+
+    /**
+     * Get the number of started threads that were pinned to their CPU
+     * @return the pinned threads
+     */
+    public int getPinnedThreadCount()
+    {
+        return pinnedThreads.get();
+    }
+
+    /**
+     * Get the number of started threads left unpinned because pinning was not supported or not permitted
+     * @return the unpinned threads
+     */
+    public int getUnpinnedThreadCount()
+    {
+        return unpinnedThreads.get();
+    }
+}
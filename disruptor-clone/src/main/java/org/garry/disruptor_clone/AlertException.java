@@ -7,6 +7,8 @@ package org.garry.disruptor_clone;
  */
 public class AlertException extends Exception{
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Overridden so the stack trace is not filled in
      * @return
@@ -1,25 +1,36 @@
 package org.garry.disruptor_clone;
 
-public final class BatchEventConsumer<T extends Entry> implements EventConsumer {
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
-    private volatile long sequence = -1L;
+public final class BatchEventConsumer<T> implements EventConsumer {
+
+    private final Sequence sequence = new Sequence(-1L);
     private volatile boolean running = true;
 
     private final ThresholdBarrier<T> barrier;
-    private final EventHandler<T> handler;
+    private final SequencedEventHandler<T> handler;
     private EventExceptionHandler eventExceptionHandler = new FatalEventExceptionHandler();
 
     private final boolean noProgressTracker;
+    private volatile Runnable[] endOfBatchHooks = new Runnable[0];
+    private Histogram batchSizeHistogram;
+    private Histogram latencyHistogram;
+
+    private int maxBatchSize = Integer.MAX_VALUE;
+    private int batchSize = Integer.MAX_VALUE;
+    private long targetBatchNanos;
+    private long timeoutNanos;
 
     public BatchEventConsumer(final ThresholdBarrier<T> barrier,
-                              final EventHandler<T> handler) {
+                              final SequencedEventHandler<T> handler) {
         this.barrier = barrier;
         this.handler = handler;
         this.noProgressTracker = true;
     }
 
     public BatchEventConsumer(final ThresholdBarrier<T> barrier,
-                              final ProgressReportingEventHandler<T> handler)
+                              final SequencedProgressReportingEventHandler<T> handler)
     {
         this.barrier = barrier;
         this.handler = handler;
@@ -36,9 +47,125 @@ public final class BatchEventConsumer<T extends Entry> implements EventConsumer
         this.eventExceptionHandler = eventExceptionHandler;
     }
 
+    /**
+     * Set a {@link Histogram} to record the size of each batch handled. Must be set before the consumer is started.
+     * @param batchSizeHistogram to record batch sizes or null to stop recording
+     */
+    public void setBatchSizeHistogram(final Histogram batchSizeHistogram) {
+        this.batchSizeHistogram = batchSizeHistogram;
+    }
+
+    /**
+     * Set a {@link Histogram} to record the nanoseconds from each {@link Entry} being committed to this consumer
+     * having handled it. Must be set before the consumer is started.
+     * @param latencyHistogram to record latencies or null to stop recording
+     * @throws IllegalArgumentException if the {@link RingBuffer} is not stamping commit times
+     */
+    public void setLatencyHistogram(final Histogram latencyHistogram) {
+        if (null != latencyHistogram && !barrier.getRingBuffer().isStampingCommitTimes())
+        {
+            throw new IllegalArgumentException("RingBuffer must be constructed to stamp commit times");
+        }
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    /**
+     * Limit the number of entries handled between calls to {@link EventHandler#onEndOfBatch()}, so that after a stall
+     * progress is reported in steps rather than only once the whole backlog has been handled.
+     * Must be set before the consumer is started.
+     * @param maxBatchSize maximum number of entries in a batch
+     */
+    public void setMaxBatchSize(final int maxBatchSize) {
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = maxBatchSize;
+    }
+
+    /**
+     * Adapt the batch size to hold the time from the start of a batch to the return of
+     * {@link EventHandler#onEndOfBatch()} near a target. The batch size is halved whenever a batch takes longer
+     * than the target and grows by an eighth when a full batch took less, up to the maximum batch size, or the
+     * capacity of the {@link RingBuffer} if none has been set. Must be set before the consumer is started.
+     * @param targetBatchLatency to aim for or 0 to stop adapting
+     * @param units of the target
+     */
+    public void setTargetBatchLatency(final long targetBatchLatency, final TimeUnit units) {
+        if (targetBatchLatency > 0L && Integer.MAX_VALUE == maxBatchSize)
+        {
+            setMaxBatchSize(barrier.getRingBuffer().getCapacity());
+        }
+        this.targetBatchNanos = units.toNanos(targetBatchLatency);
+    }
+
+    /**
+     * Call {@link TimeoutHandler#onTimeout(long)} on the handler whenever no entries arrive within the timeout,
+     * repeating for as long as the {@link RingBuffer} stays quiet. Must be set before the consumer is started.
+     * @param timeout to wait for entries or 0 to wait without a timeout
+     * @param units of the timeout
+     * @throws IllegalArgumentException if the handler does not implement {@link TimeoutHandler}
+     */
+    public void setTimeout(final long timeout, final TimeUnit units) {
+        if (timeout > 0L && !(handler instanceof TimeoutHandler))
+        {
+            throw new IllegalArgumentException("handler must implement TimeoutHandler");
+        }
+        this.timeoutNanos = units.toNanos(timeout);
+    }
+
+    /**
+     * Add a hook to run on the consumer thread after each call to {@link EventHandler#onEndOfBatch()}, so others can
+     * react to this consumer's progress without owning its handler. May be called while the consumer is running.
+     * @param hook to run after each batch
+     */
+    public synchronized void addEndOfBatchHook(final Runnable hook) {
+        if (null == hook)
+        {
+            throw new NullPointerException();
+        }
+        final Runnable[] hooks = Arrays.copyOf(endOfBatchHooks, endOfBatchHooks.length + 1);
+        hooks[hooks.length - 1] = hook;
+        endOfBatchHooks = hooks;
+    }
+
+    /**
+     * Remove a hook added with {@link #addEndOfBatchHook(Runnable)}. May be called while the consumer is running.
+     * @param hook to be removed
+     * @return true if the hook was found and removed
+     */
+    public synchronized boolean removeEndOfBatchHook(final Runnable hook) {
+        final Runnable[] hooks = endOfBatchHooks;
+        for (int i = 0; i < hooks.length; i++)
+        {
+            if (hooks[i] == hook)
+            {
+                final Runnable[] updated = Arrays.copyOf(hooks, hooks.length - 1);
+                System.arraycopy(hooks, i + 1, updated, i, hooks.length - i - 1);
+                endOfBatchHooks = updated;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the current limit on the number of entries in a batch, which changes when adapting to a target latency
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
     @Override
     public long getSequence() {
-        return sequence;
+        return sequence.get();
+    }
+
+    @Override
+    public void setSequence(final long sequence) {
+        this.sequence.set(sequence);
     }
 
 
@@ -46,10 +173,11 @@ public final class BatchEventConsumer<T extends Entry> implements EventConsumer
     @Override
     public void halt() {
         running = false;
+        barrier.alert();
     }
 
     @Override
-    public ThresholdBarrier getBarrier() {
+    public ThresholdBarrier<T> getBarrier() {
         return barrier;
     }
 
@@ -62,21 +190,53 @@ public final class BatchEventConsumer<T extends Entry> implements EventConsumer
         while (running && !thisThread.isInterrupted())
         {
             try {
-                final long nextSequence = sequence + 1;
-                final long availableSeq = barrier.waitFor(nextSequence);
+                final long nextSequence = sequence.get() + 1;
+                long availableSeq = 0L != timeoutNanos
+                    ? barrier.waitFor(nextSequence, timeoutNanos, TimeUnit.NANOSECONDS)
+                    : barrier.waitFor(nextSequence);
+                if (availableSeq < nextSequence)
+                {
+                    entry = null;
+                    ((TimeoutHandler) handler).onTimeout(nextSequence - 1);
+                    continue;
+                }
+                if (availableSeq - nextSequence >= batchSize)
+                {
+                    availableSeq = nextSequence + batchSize - 1;
+                }
+                final long batchStart = 0L != targetBatchNanos ? System.nanoTime() : 0L;
+
+                if (null != batchSizeHistogram)
+                {
+                    batchSizeHistogram.record(availableSeq - nextSequence + 1);
+                }
 
                 for(long i = nextSequence; i <= availableSeq; i++)
                 {
                     entry = barrier.getRingBuffer().get(i);
-                    handler.onEvent(entry);
+                    handler.onEvent(entry, i);
+
+                    if (null != latencyHistogram)
+                    {
+                        latencyHistogram.record(System.nanoTime() - barrier.getRingBuffer().getCommitTime(i));
+                    }
 
                     if(noProgressTracker)
                     {
-                        sequence = i;
+                        sequence.set(i);
                     }
                 }
 
                 handler.onEndOfBatch();
+                for (Runnable hook : endOfBatchHooks)
+                {
+                    hook.run();
+                }
+
+                if (0L != targetBatchNanos)
+                {
+                    adaptBatchSize(System.nanoTime() - batchStart, availableSeq - nextSequence + 1);
+                }
             }
             catch (final AlertException ex)
             {
@@ -84,17 +244,31 @@ public final class BatchEventConsumer<T extends Entry> implements EventConsumer
             }
             catch (final Exception ex)
             {
-                eventExceptionHandler.handle(ex,entry);
+                eventExceptionHandler.handleEvent(ex, entry);
             }
         }
         handler.onCompletion();
     }
 
+    private void adaptBatchSize(final long batchNanos, final long handled)
+    {
+        if (batchNanos > targetBatchNanos)
+        {
+            final long limit = handled < batchSize ? handled : batchSize;
+            batchSize = limit > 1L ? (int) (limit >>> 1) : 1;
+        }
+        else if (handled == batchSize && batchSize < maxBatchSize)
+        {
+            final long grown = batchSize + (batchSize >>> 3) + 1L;
+            batchSize = grown < maxBatchSize ? (int) grown : maxBatchSize;
+        }
+    }
+
     public final class ProgressTrackerCallback
     {
         public void onCompleted(final long sequence)
         {
-            BatchEventConsumer.this.sequence = sequence;
+            BatchEventConsumer.this.sequence.set(sequence);
         }
     }
 
@@ -0,0 +1,124 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.garry.disruptor_clone.Util.getMinimumSequence;
+
+/**
+ * Blocking strategy that uses a lock and condition variable for {@link EventConsumer}s waiting on the cursor
+ *
+ * Dependent {@link EventConsumer}s are busy spun on as they are expected to be only a little behind the cursor
+ *
+ * Producers only take the lock to signal when a consumer is actually parked. A waiter registers itself under the
+ * lock before checking the cursor, and producers advance the cursor before checking for waiters, so one side
+ * always sees the other and no wakeup is lost.
+ */
+final class BlockingWaitStrategy implements WaitStrategy {
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition consumerNotifyCondition = lock.newCondition();
+    private volatile int numWaiters = 0;
+
+    @Override
+    public long waitFor(final EventConsumer[] eventConsumers, final RingBuffer<?> ringBuffer,
+                        final ThresholdBarrier<?> barrier, final long sequence)
+            throws AlertException, InterruptedException
+    {
+        long availableSequence;
+        if ((availableSequence = ringBuffer.getCursor()) < sequence)
+        {
+            lock.lock();
+            try
+            {
+                ++numWaiters;
+                while ((availableSequence = ringBuffer.getCursor()) < sequence)
+                {
+                    barrier.checkForAlert();
+                    consumerNotifyCondition.await();
+                }
+            }
+            finally
+            {
+                --numWaiters;
+                lock.unlock();
+            }
+        }
+
+        if (0 != eventConsumers.length)
+        {
+            while ((availableSequence = getMinimumSequence(eventConsumers)) < sequence)
+            {
+                barrier.checkForAlert();
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public long waitFor(final EventConsumer[] eventConsumers, final RingBuffer<?> ringBuffer,
+                        final ThresholdBarrier<?> barrier, final long sequence,
+                        final long timeout, final TimeUnit units)
+            throws AlertException, InterruptedException
+    {
+        final long timeoutNanos = units.toNanos(timeout);
+        final long deadline = System.nanoTime() + timeoutNanos;
+
+        long availableSequence;
+        if ((availableSequence = ringBuffer.getCursor()) < sequence)
+        {
+            lock.lock();
+            try
+            {
+                ++numWaiters;
+                long remainingNanos = timeoutNanos;
+                while ((availableSequence = ringBuffer.getCursor()) < sequence)
+                {
+                    barrier.checkForAlert();
+                    if (remainingNanos <= 0)
+                    {
+                        break;
+                    }
+                    remainingNanos = consumerNotifyCondition.awaitNanos(remainingNanos);
+                }
+            }
+            finally
+            {
+                --numWaiters;
+                lock.unlock();
+            }
+        }
+
+        if (0 != eventConsumers.length)
+        {
+            while ((availableSequence = getMinimumSequence(eventConsumers)) < sequence)
+            {
+                barrier.checkForAlert();
+                if (System.nanoTime() - deadline >= 0)
+                {
+                    break;
+                }
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAll()
+    {
+        if (0 != numWaiters)
+        {
+            lock.lock();
+            try
+            {
+                consumerNotifyCondition.signalAll();
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.garry.disruptor_clone.Util.getMinimumSequence;
+
+/**
+ * Busy spin strategy that burns the CPU of the waiting thread for the lowest latency
+ *
+ * Only to be used when each {@link EventConsumer} has a core to itself
+ */
+final class BusySpinWaitStrategy implements WaitStrategy {
+
+    @Override
+    public long waitFor(final EventConsumer[] eventConsumers, final RingBuffer<?> ringBuffer,
+                        final ThresholdBarrier<?> barrier, final long sequence)
+            throws AlertException, InterruptedException
+    {
+        long availableSequence;
+        if (0 == eventConsumers.length)
+        {
+            while ((availableSequence = ringBuffer.getCursor()) < sequence)
+            {
+                barrier.checkForAlert();
+            }
+        }
+        else
+        {
+            while ((availableSequence = getMinimumSequence(eventConsumers)) < sequence)
+            {
+                barrier.checkForAlert();
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public long waitFor(final EventConsumer[] eventConsumers, final RingBuffer<?> ringBuffer,
+                        final ThresholdBarrier<?> barrier, final long sequence,
+                        final long timeout, final TimeUnit units)
+            throws AlertException, InterruptedException
+    {
+        final long deadline = System.nanoTime() + units.toNanos(timeout);
+
+        long availableSequence;
+        if (0 == eventConsumers.length)
+        {
+            while ((availableSequence = ringBuffer.getCursor()) < sequence)
+            {
+                barrier.checkForAlert();
+                if (System.nanoTime() - deadline >= 0)
+                {
+                    break;
+                }
+            }
+        }
+        else
+        {
+            while ((availableSequence = getMinimumSequence(eventConsumers)) < sequence)
+            {
+                barrier.checkForAlert();
+                if (System.nanoTime() - deadline >= 0)
+                {
+                    break;
+                }
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAll()
+    {
+    }
+}
@@ -0,0 +1,243 @@
+package org.garry.disruptor_clone;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Topology of the online CPUs read from Linux sysfs, used to plan which CPU each thread of a pipeline is pinned to
+ * with an {@link AffinityThreadFactory}.
+ *
+ * CPUs are grouped into cores by their hyperthread siblings and into NUMA nodes. Where sysfs cannot be read, every
+ * available processor is treated as its own core on node 0.
+ */
+public final class CpuLayout {
+
+    private static final Path SYSFS_ROOT = Paths.get("/sys/devices/system");
+
+    private final List<int[]> cores;
+    private final Map<Integer, Integer> nodes;
+    private final Set<Integer> isolatedCpus;
+
+    CpuLayout(final List<int[]> cores, final Map<Integer, Integer> nodes, final Set<Integer> isolatedCpus)
+    {
+        this.cores = cores;
+        this.nodes = nodes;
+        this.isolatedCpus = isolatedCpus;
+    }
+
+    /**
+     * Read the layout of this machine
+     * @return the layout
+     */
+    public static CpuLayout read()
+    {
+        return read(SYSFS_ROOT);
+    }
+
+    static CpuLayout read(final Path sysfsRoot)
+    {
+        final Path cpuRoot = sysfsRoot.resolve("cpu");
+        final Set<Integer> onlineCpus = readCpuList(cpuRoot.resolve("online"));
+        if (onlineCpus.isEmpty())
+        {
+            for (int cpu = 0; cpu < Runtime.getRuntime().availableProcessors(); cpu++)
+            {
+                onlineCpus.add(Integer.valueOf(cpu));
+            }
+        }
+
+        final List<int[]> cores = new ArrayList<>();
+        final Set<Integer> placed = new TreeSet<>();
+        for (Integer cpu : onlineCpus)
+        {
+            if (placed.contains(cpu))
+            {
+                continue;
+            }
+
+            final Set<Integer> siblings =
+                readCpuList(cpuRoot.resolve("cpu" + cpu).resolve("topology").resolve("thread_siblings_list"));
+            siblings.retainAll(onlineCpus);
+            siblings.add(cpu);
+            siblings.removeAll(placed);
+            placed.addAll(siblings);
+            cores.add(toArray(siblings));
+        }
+
+        final Map<Integer, Integer> nodes = new TreeMap<>();
+        try (DirectoryStream<Path> nodeDirectories = Files.newDirectoryStream(sysfsRoot.resolve("node"), "node[0-9]*"))
+        {
+            for (Path nodeDirectory : nodeDirectories)
+            {
+                final Integer node = Integer.valueOf(nodeDirectory.getFileName().toString().substring(4));
+                for (Integer cpu : readCpuList(nodeDirectory.resolve("cpulist")))
+                {
+                    nodes.put(cpu, node);
+                }
+            }
+        }
+        catch (final IOException | RuntimeException ex)
+        {
+            // without NUMA information every CPU is treated as being on node 0
+        }
+
+        return new CpuLayout(cores, nodes, readCpuList(cpuRoot.resolve("isolated")));
+    }
+
+    /**
+     * Plan the CPUs for the threads of a pipeline, preferring the node of the first isolated CPU or else node 0
+     * @param threads number of threads, in pipeline order
+     * @return the CPU for each thread
+     */
+    public int[] plan(final int threads)
+    {
+        final int preferredNode = isolatedCpus.isEmpty() ? 0 : getNode(isolatedCpus.iterator().next().intValue());
+        return plan(threads, preferredNode);
+    }
+
+    /**
+     * Plan the CPUs for the threads of a pipeline.
+     *
+     * Threads are placed in order onto the CPUs of one core before moving on to the next core, so neighbouring
+     * stages of a pipeline share the caches of sibling hyperthreads. Cores are taken isolated first on the preferred
+     * node, then the rest of the preferred node, then isolated cores on other nodes, then any other core. When there
+     * are more threads than CPUs the plan wraps around.
+     *
+     * @param threads number of threads, in pipeline order
+     * @param preferredNode NUMA node to place the threads on first
+     * @return the CPU for each thread
+     */
+    public int[] plan(final int threads, final int preferredNode)
+    {
+        final List<int[]> ordered = new ArrayList<>();
+        addCores(ordered, preferredNode, true, true);
+        addCores(ordered, preferredNode, true, false);
+        addCores(ordered, preferredNode, false, true);
+        addCores(ordered, preferredNode, false, false);
+
+        final List<Integer> cpus = new ArrayList<>();
+        for (int[] core : ordered)
+        {
+            for (int cpu : core)
+            {
+                cpus.add(Integer.valueOf(cpu));
+            }
+        }
+
+        final int[] plan = new int[threads];
+        for (int i = 0; i < threads; i++)
+        {
+            plan[i] = cpus.get(i % cpus.size()).intValue();
+        }
+        return plan;
+    }
+
+    /**
+     * Get the online CPUs grouped into cores of hyperthread siblings
+     * @return the CPUs of each core
+     */
+    public List<int[]> getCores()
+    {
+        return Collections.unmodifiableList(cores);
+    }
+
+    /**
+     * Get the NUMA node of a CPU
+     * @param cpu to look up
+     * @return the node, or 0 if unknown
+     */
+    public int getNode(final int cpu)
+    {
+        final Integer node = nodes.get(Integer.valueOf(cpu));
+        return null != node ? node.intValue() : 0;
+    }
+
+    /**
+     * Get the CPUs isolated from the scheduler with isolcpus
+     * @return the isolated CPUs in ascending order
+     */
+    public int[] getIsolatedCpus()
+    {
+        return toArray(isolatedCpus);
+    }
+
+    private void addCores(final List<int[]> ordered, final int preferredNode,
+                          final boolean onPreferredNode, final boolean isolated)
+    {
+        for (int[] core : cores)
+        {
+            if ((getNode(core[0]) == preferredNode) == onPreferredNode &&
+                isolatedCpus.contains(Integer.valueOf(core[0])) == isolated)
+            {
+                ordered.add(core);
+            }
+        }
+    }
+
+    /**
+     * Parse a sysfs CPU list such as 0-3,8,10-11
+     * @param file holding the list
+     * @return the CPUs, empty if the file cannot be read or parsed
+     */
+    static Set<Integer> readCpuList(final Path file)
+    {
+        final Set<Integer> cpus = new TreeSet<>();
+        final String list;
+        try
+        {
+            list = new String(Files.readAllBytes(file), StandardCharsets.US_ASCII).trim();
+        }
+        catch (final IOException ex)
+        {
+            return cpus;
+        }
+
+        try
+        {
+            for (String range : list.split(","))
+            {
+                if (range.isEmpty())
+                {
+                    continue;
+                }
+
+                final int dash = range.indexOf('-');
+                final int first = Integer.parseInt(dash < 0 ? range : range.substring(0, dash));
+                final int last = dash < 0 ? first : Integer.parseInt(range.substring(dash + 1));
+                for (int cpu = first; cpu <= last; cpu++)
+                {
+                    cpus.add(Integer.valueOf(cpu));
+                }
+            }
+        }
+        catch (final NumberFormatException ex)
+        {
+            cpus.clear();
+        }
+        return cpus;
+    }
+
+    private static int[] toArray(final Set<Integer> cpus)
+    {
+        final int[] array = new int[cpus.size()];
+        int i = 0;
+        for (Integer cpu : cpus)
+        {
+            array[i++] = cpu.intValue();
+        }
+        Arrays.sort(array);
+        return array;
+    }
+}
@@ -0,0 +1,98 @@
+package org.garry.disruptor_clone;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Flyweight view of a record in a {@link DirectRecordBuffer}, moved from record to record by sequence.
+ *
+ * Subclasses define the record layout by reading and writing fields at offsets within the record.
+ * A flyweight holds the position of the record it views, so each producer and consumer thread keeps its own
+ * and calls {@link #wrap(DirectRecordBuffer, long)} for each sequence it handles. One flyweight per thread
+ * serves the whole ring, and positioning it writes nothing to the buffer or the {@link RingBuffer}.
+ */
+public abstract class DirectRecord {
+
+    private ByteBuffer buffer;
+    private int offset;
+    private long sequence = RingBuffer.INITIAL_CURSOR_VALUE;
+
+    /**
+     * Position this flyweight on the record for a sequence
+     * @param records holding the record
+     * @param sequence of the record
+     */
+    public void wrap(final DirectRecordBuffer records, final long sequence)
+    {
+        this.buffer = records.getBuffer();
+        this.offset = records.getOffset(sequence);
+        this.sequence = sequence;
+    }
+
+    /**
+     * Get the sequence of the record currently viewed
+     * @return the sequence
+     */
+    public long getSequence()
+    {
+        return sequence;
+    }
+
+    /**
+     * Get the offset of the record currently viewed within the buffer
+     * @return the offset in bytes
+     */
+    public int getOffset()
+    {
+        return offset;
+    }
+
+    protected byte getByte(final int index)
+    {
+        return buffer.get(offset + index);
+    }
+
+    protected void putByte(final int index, final byte value)
+    {
+        buffer.put(offset + index, value);
+    }
+
+    protected short getShort(final int index)
+    {
+        return buffer.getShort(offset + index);
+    }
+
+    protected void putShort(final int index, final short value)
+    {
+        buffer.putShort(offset + index, value);
+    }
+
+    protected int getInt(final int index)
+    {
+        return buffer.getInt(offset + index);
+    }
+
+    protected void putInt(final int index, final int value)
+    {
+        buffer.putInt(offset + index, value);
+    }
+
+    protected long getLong(final int index)
+    {
+        return buffer.getLong(offset + index);
+    }
+
+    protected void putLong(final int index, final long value)
+    {
+        buffer.putLong(offset + index, value);
+    }
+
+    protected double getDouble(final int index)
+    {
+        return buffer.getDouble(offset + index);
+    }
+
+    protected void putDouble(final int index, final double value)
+    {
+        buffer.putDouble(offset + index, value);
+    }
+}
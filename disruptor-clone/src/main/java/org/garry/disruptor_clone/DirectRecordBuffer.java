@@ -0,0 +1,88 @@
+package org.garry.disruptor_clone;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.garry.disruptor_clone.Util.ceilingNextPowerOfTwo;
+
+/**
+ * Off heap store of fixed stride records in one direct {@link ByteBuffer}, with the record for a sequence at
+ * offset (sequence &amp; mask) * stride, so consecutive sequences are laid out contiguously.
+ *
+ * The buffer is its own {@link Factory}, so every slot of the {@link RingBuffer} it fills refers to this one
+ * instance and there is no per slot state on the heap. Producers claim with {@link RingBuffer#next()} or
+ * {@link SlotClaimer#next()}, write the record through a {@link DirectRecord} positioned at the claimed sequence,
+ * then publish the sequence. Consumers are handed this buffer with the sequence of each event and position their
+ * own {@link DirectRecord} in the same way, so claim, publish and barrier semantics are those of the sequence API.
+ */
+public final class DirectRecordBuffer implements Factory<DirectRecordBuffer> {
+
+    private final ByteBuffer buffer;
+    private final int stride;
+    private final int indexMask;
+    private int slotsFilled = 0;
+
+    /**
+     * @param stride of each record in bytes
+     * @param size of the {@link RingBuffer} to be filled, which will be rounded up to the next power of 2
+     */
+    public DirectRecordBuffer(final int stride, final int size)
+    {
+        if (stride <= 0)
+        {
+            throw new IllegalArgumentException("stride must be positive");
+        }
+
+        final int capacity = ceilingNextPowerOfTwo(size);
+        this.stride = stride;
+        this.indexMask = capacity - 1;
+        this.buffer = ByteBuffer.allocateDirect(Math.multiplyExact(stride, capacity))
+                                .order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Fill a slot of the {@link RingBuffer} with this buffer
+     * @return this buffer
+     * @throws IllegalStateException if the RingBuffer has more slots than there are records
+     */
+    @Override
+    public DirectRecordBuffer create()
+    {
+        if (slotsFilled == getCapacity())
+        {
+            throw new IllegalStateException("all " + getCapacity() + " records have been handed out");
+        }
+        slotsFilled++;
+
+        return this;
+    }
+
+    /**
+     * Get the offset of the record for a sequence
+     * @param sequence of the record
+     * @return the offset in bytes
+     */
+    public int getOffset(final long sequence)
+    {
+        return (int) (sequence & indexMask) * stride;
+    }
+
+    public int getStride()
+    {
+        return stride;
+    }
+
+    /**
+     * The number of records held
+     * @return the capacity in records
+     */
+    public int getCapacity()
+    {
+        return indexMask + 1;
+    }
+
+    ByteBuffer getBuffer()
+    {
+        return buffer;
+    }
+}
@@ -0,0 +1,312 @@
+package org.garry.disruptor_clone;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Builder for a {@link RingBuffer} and the graph of {@link EventConsumer}s processing its entries.
+ *
+ * Consumers are declared with {@link #handleEventsWith(SequencedEventHandler[])} and
+ * {@link EventHandlerGroup#then(SequencedEventHandler[])}, which create the {@link ThresholdBarrier}s for their
+ * dependencies. The Disruptor keeps track of the consumers that nothing else depends on, which is the minimal gating
+ * set producers must not overtake, and provides it for
+ * {@link SlotClaimer}s via {@link #getGatingEventConsumers()} and {@link #createSlotClaimer(int)}.
+ *
+ * The graph must be complete before {@link #start()} is called, after which it cannot be changed. Producers publish
+ * through the {@link SlotClaimer} it returns, and {@link #shutdown()} drains and stops the consumers.
+ *
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ */
+public final class Disruptor<T> {
+
+    private final RingBuffer<T> ringBuffer;
+    private final Executor executor;
+    private final List<EventConsumer> eventConsumers = new ArrayList<>();
+    private final Set<EventConsumer> gatingEventConsumers = Collections.newSetFromMap(new IdentityHashMap<>());
+    private EventExceptionHandler eventExceptionHandler;
+    private boolean started = false;
+    private CountDownLatch runningEventConsumers;
+
+    /**
+     * @param entryFactory to create {@link Entry}s for filling the {@link RingBuffer}
+     * @param size of the {@link RingBuffer} that will be rounded up to the next power of 2
+     * @param executor to run a thread for each {@link EventConsumer}
+     * @param sequenceClaimThreadingStrategy threading strategy for producers claiming {@link Entry}s in the ring
+     * @param waitStrategyOption waiting strategy employed by consumers waiting on {@link Entry}s becoming available
+     */
+    public Disruptor(final Factory<T> entryFactory, final int size, final Executor executor,
+                     final SequenceClaimThreadingStrategy sequenceClaimThreadingStrategy,
+                     final WaitStrategyOption waitStrategyOption)
+    {
+        this(new RingBuffer<>(entryFactory, size, sequenceClaimThreadingStrategy, waitStrategyOption), executor);
+    }
+
+    public Disruptor(final Factory<T> entryFactory, final int size, final Executor executor)
+    {
+        this(new RingBuffer<>(entryFactory, size), executor);
+    }
+
+    /**
+     * @param ringBuffer to be processed
+     * @param executor to run a thread for each {@link EventConsumer}
+     */
+    public Disruptor(final RingBuffer<T> ringBuffer, final Executor executor)
+    {
+        if (null == ringBuffer || null == executor)
+        {
+            throw new NullPointerException();
+        }
+
+        this.ringBuffer = ringBuffer;
+        this.executor = executor;
+    }
+
+    /**
+     * Set the {@link EventExceptionHandler} for the consumers declared after this call
+     * @param eventExceptionHandler to handle exceptions thrown by handlers
+     */
+    public void handleExceptionsWith(final EventExceptionHandler eventExceptionHandler)
+    {
+        this.eventExceptionHandler = eventExceptionHandler;
+    }
+
+    /**
+     * Set up a {@link BatchEventConsumer} for each handler, processing entries as soon as producers commit them
+     * @param handlers to process the entries
+     * @return a group of the new consumers for declaring dependent consumers
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // only read while creating the consumers
+    public final EventHandlerGroup<T> handleEventsWith(final SequencedEventHandler<T>... handlers)
+    {
+        return createEventConsumers(new EventConsumer[0], handlers);
+    }
+
+    /**
+     * Set up a {@link WorkerPool} where each entry is handled by exactly one of the handlers
+     * @param workHandlers to process the entries
+     * @return a group of the new workers for declaring dependent consumers
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // only read while creating the workers
+    public final EventHandlerGroup<T> handleEventsWithWorkerPool(final WorkHandler<T>... workHandlers)
+    {
+        return createWorkerPool(new EventConsumer[0], workHandlers);
+    }
+
+    /**
+     * Start a thread on the executor for every {@link EventConsumer}, for a single producer
+     * @return a {@link SlotClaimer} gated on {@link #getGatingEventConsumers()} for the producer to publish through
+     */
+    public SlotClaimer<T> start()
+    {
+        return start(0);
+    }
+
+    /**
+     * Start a thread on the executor for every {@link EventConsumer}
+     * @param bufferReserveThreshold number of slots to keep in reserve for racing producers
+     * @return a {@link SlotClaimer} gated on {@link #getGatingEventConsumers()} for producers to publish through
+     */
+    public SlotClaimer<T> start(final int bufferReserveThreshold)
+    {
+        checkNotStarted();
+        started = true;
+
+        final CountDownLatch running = new CountDownLatch(eventConsumers.size());
+        runningEventConsumers = running;
+        for (EventConsumer eventConsumer : eventConsumers)
+        {
+            executor.execute(() ->
+            {
+                try
+                {
+                    eventConsumer.run();
+                }
+                finally
+                {
+                    running.countDown();
+                }
+            });
+        }
+
+        return createSlotClaimer(bufferReserveThreshold);
+    }
+
+    /**
+     * Position the {@link RingBuffer} and every {@link EventConsumer} so the next published entry has the sequence
+     * following the given one, see {@link RingBuffer#resetTo(long)}. The graph must be complete and nothing may have
+     * been published yet.
+     * @param sequence to treat as the last published and consumed sequence
+     */
+    public void resetTo(final long sequence)
+    {
+        checkNotStarted();
+
+        ringBuffer.resetTo(sequence);
+        for (EventConsumer eventConsumer : eventConsumers)
+        {
+            eventConsumer.setSequence(sequence);
+        }
+    }
+
+    /**
+     * Halt every {@link EventConsumer} at its next clean break, without waiting for entries already published to be
+     * processed or for the consumer threads to finish, see {@link #shutdown()}
+     */
+    public void halt()
+    {
+        for (EventConsumer eventConsumer : eventConsumers)
+        {
+            eventConsumer.halt();
+        }
+    }
+
+    /**
+     * Wait until the gating {@link EventConsumer}s have processed every entry published so far, then halt every
+     * consumer and wait for their threads to finish. Producers must have stopped publishing.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void shutdown() throws InterruptedException
+    {
+        shutdown(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Wait until the gating {@link EventConsumer}s have processed every entry published so far, then halt every
+     * consumer and wait for their threads to finish. Producers must have stopped publishing.
+     * @param timeout maximum time to wait
+     * @param unit of the timeout
+     * @return false if the timeout elapsed first, in which case the consumers are not halted if they were still
+     *         processing entries
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean shutdown(final long timeout, final TimeUnit unit) throws InterruptedException
+    {
+        if (!started)
+        {
+            throw new IllegalStateException("Disruptor has not been started");
+        }
+
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        final EventConsumer[] gating = getGatingEventConsumers();
+        final long cursor = ringBuffer.getCursor();
+        while (Util.getMinimumSequence(gating) < cursor)
+        {
+            if (System.nanoTime() - deadline >= 0)
+            {
+                return false;
+            }
+            if (Thread.interrupted())
+            {
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(1000L);
+        }
+
+        halt();
+        return runningEventConsumers.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the {@link RingBuffer}, for reading entries and creating barriers. Producers publishing directly to it are
+     * not gated on the consumers, so should publish through the {@link SlotClaimer} returned by {@link #start()}.
+     * @return the ring buffer
+     */
+    public RingBuffer<T> getRingBuffer()
+    {
+        return ringBuffer;
+    }
+
+    /**
+     * Get the {@link EventConsumer}s that no other consumer depends on, which producers must gate on
+     * @return the gating consumers
+     */
+    public EventConsumer[] getGatingEventConsumers()
+    {
+        final List<EventConsumer> gating = new ArrayList<>();
+        for (EventConsumer eventConsumer : eventConsumers)
+        {
+            if (gatingEventConsumers.contains(eventConsumer))
+            {
+                gating.add(eventConsumer);
+            }
+        }
+
+        return gating.toArray(new EventConsumer[0]);
+    }
+
+    /**
+     * Create a {@link ProgressiveBackoffSlotClaimer} gated on {@link #getGatingEventConsumers()}.
+     * The graph of consumers must be complete before claimers are created.
+     * @param bufferReserveThreshold number of slots to keep in reserve for racing producers
+     * @return the claimer
+     */
+    public SlotClaimer<T> createSlotClaimer(final int bufferReserveThreshold)
+    {
+        return new ProgressiveBackoffSlotClaimer<>(bufferReserveThreshold, ringBuffer, getGatingEventConsumers());
+    }
+
+    EventHandlerGroup<T> createEventConsumers(final EventConsumer[] barrierEventConsumers,
+                                              final SequencedEventHandler<T>[] handlers)
+    {
+        checkNotStarted();
+
+        final ThresholdBarrier<T> barrier = ringBuffer.createBarrier(barrierEventConsumers);
+        final EventConsumer[] createdEventConsumers = new EventConsumer[handlers.length];
+        for (int i = 0; i < handlers.length; i++)
+        {
+            final BatchEventConsumer<T> batchEventConsumer = handlers[i] instanceof ProgressReportingEventHandler
+                ? new BatchEventConsumer<>(barrier, (ProgressReportingEventHandler<T>) handlers[i])
+                : new BatchEventConsumer<>(barrier, handlers[i]);
+            if (null != eventExceptionHandler)
+            {
+                batchEventConsumer.setEventExceptionHandler(eventExceptionHandler);
+            }
+            createdEventConsumers[i] = batchEventConsumer;
+        }
+
+        return register(barrierEventConsumers, createdEventConsumers);
+    }
+
+    EventHandlerGroup<T> createWorkerPool(final EventConsumer[] barrierEventConsumers,
+                                          final WorkHandler<T>[] workHandlers)
+    {
+        checkNotStarted();
+
+        final ThresholdBarrier<T> barrier = ringBuffer.createBarrier(barrierEventConsumers);
+        final WorkerPool<T> workerPool = new WorkerPool<>(barrier,
+                                                          null != eventExceptionHandler
+                                                              ? eventExceptionHandler
+                                                              : new FatalEventExceptionHandler(),
+                                                          workHandlers);
+
+        return register(barrierEventConsumers, workerPool.getWorkProcessors());
+    }
+
+    private EventHandlerGroup<T> register(final EventConsumer[] barrierEventConsumers,
+                                          final EventConsumer[] createdEventConsumers)
+    {
+        gatingEventConsumers.removeAll(Arrays.asList(barrierEventConsumers));
+        gatingEventConsumers.addAll(Arrays.asList(createdEventConsumers));
+        eventConsumers.addAll(Arrays.asList(createdEventConsumers));
+
+        return new EventHandlerGroup<>(this, createdEventConsumers);
+    }
+
+    private void checkNotStarted()
+    {
+        if (started)
+        {
+            throw new IllegalStateException("Disruptor has already been started");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claims {@link Entry}s that are committed with {@link Entry#commit()}, on top of the sequence API of a
+ * {@link RingBuffer} or, when producers must be gated on {@link EventConsumer}s, of a {@link SlotClaimer}.
+ *
+ * The entry type is bounded here rather than on the {@link RingBuffer}, so claiming from a RingBuffer of events
+ * that do not implement {@link Entry} fails to compile instead of failing when the entry is cast.
+ *
+ * @param <T> {@link Entry} implementation stored in the {@link RingBuffer}
+ */
+public final class EntryClaimer<T extends Entry> {
+
+    private final RingBuffer<? extends T> ringBuffer;
+    private final SlotClaimer<T> slotClaimer;
+
+    /**
+     * Claim entries without gating on {@link EventConsumer}s, for producers that never get a full lap ahead
+     * @param ringBuffer to claim entries in
+     */
+    public EntryClaimer(final RingBuffer<? extends T> ringBuffer)
+    {
+        this(ringBuffer, null);
+    }
+
+    /**
+     * Claim entries once the {@link SlotClaimer} has capacity for them
+     * @param slotClaimer gating the claims
+     */
+    public EntryClaimer(final SlotClaimer<T> slotClaimer)
+    {
+        this(slotClaimer.getRingBuffer(), slotClaimer);
+    }
+
+    private EntryClaimer(final RingBuffer<? extends T> ringBuffer, final SlotClaimer<T> slotClaimer)
+    {
+        this.ringBuffer = ringBuffer;
+        this.slotClaimer = slotClaimer;
+    }
+
+    /**
+     * Claim the next entry in sequence for a producer
+     * @return the claimed entry
+     */
+    public T claimNext()
+    {
+        final long sequence = null == slotClaimer ? ringBuffer.next() : slotClaimer.next();
+        return ringBuffer.entryToPublish(sequence);
+    }
+
+    /**
+     * Claim the next entry in sequence, waiting no longer than the timeout for capacity
+     * @param timeout to wait for capacity
+     * @param units of the timeout
+     * @return the claimed entry or null if the timeout expired before capacity was available
+     */
+    public T claimNext(final long timeout, final TimeUnit units)
+    {
+        if (null == slotClaimer)
+        {
+            return claimNext();
+        }
+
+        final long sequence = slotClaimer.next(timeout, units);
+        return -1L == sequence ? null : ringBuffer.entryToPublish(sequence);
+    }
+
+    /**
+     * Claim the next entry in sequence only if there is capacity right now
+     * @return the claimed entry or null if the {@link RingBuffer} is full
+     */
+    public T tryClaimNext()
+    {
+        if (null == slotClaimer)
+        {
+            return claimNext();
+        }
+
+        final long sequence = slotClaimer.tryNext();
+        return -1L == sequence ? null : ringBuffer.entryToPublish(sequence);
+    }
+
+    /**
+     * Claim a batch of entries with a single claim on the sequence. The batch must be committed as a whole with
+     * {@link #commit(SequenceBatch)} rather than by committing its entries.
+     * @param sequenceBatch to be updated with the claimed range of sequences
+     * @return the updated sequenceBatch
+     */
+    public SequenceBatch claimNext(final SequenceBatch sequenceBatch)
+    {
+        if (null == slotClaimer)
+        {
+            ringBuffer.next(sequenceBatch);
+        }
+        else
+        {
+            slotClaimer.next(sequenceBatch);
+        }
+
+        for (long sequence = sequenceBatch.getStart(); sequence <= sequenceBatch.getEnd(); sequence++)
+        {
+            ringBuffer.entryToPublish(sequence);
+        }
+        return sequenceBatch;
+    }
+
+    /**
+     * Commit a batch of entries claimed with {@link #claimNext(SequenceBatch)} with a single update of the cursor
+     * and notification of the consumers
+     * @param sequenceBatch to be committed
+     */
+    public void commit(final SequenceBatch sequenceBatch)
+    {
+        ringBuffer.publish(sequenceBatch);
+    }
+
+    /**
+     * Claim a specific sequence when only one producer is involved, which sets the cursor to it on commit
+     * @param sequence to be claimed
+     * @return the claimed entry
+     */
+    public T claimSequence(final long sequence)
+    {
+        if (null != slotClaimer)
+        {
+            slotClaimer.claim(sequence);
+        }
+
+        return ringBuffer.entryToForcePublish(sequence);
+    }
+
+    /**
+     * Get the {@link RingBuffer} entries are claimed in
+     * @return the {@link RingBuffer}
+     */
+    public RingBuffer<? extends T> getRingBuffer()
+    {
+        return ringBuffer;
+    }
+}
@@ -4,19 +4,33 @@ package org.garry.disruptor_clone;
  * EntryConsumers waitFor {@link Entry}s to become available for consumption from the {@link RingBuffer}
  *
  */
-public interface EventConsumer extends Runnable{
+public interface EventConsumer extends GatingSequence, Runnable{
 
     /**
      * Get the sequence up to which this Consumer has consumed {@link Entry}s
      * @return the sequence of the last consumed {@link Entry}
      */
+    @Override
     long getSequence();
 
+    /**
+     * Set the sequence up to which this Consumer is treated as having consumed, so it starts after it.
+     * Only to be used before the Consumer is started.
+     * @param sequence of the last {@link Entry} to be treated as consumed
+     */
+    @Override
+    void setSequence(long sequence);
+
     /**
      * Signal that this Consumer should stop when it has finished consuming at the next clean break.
      * It will call {@link ThresholdBarrier#alert()} to notify the thread to check status.
      */
     void halt();
 
-    ThresholdBarrier getBarrier();
+    /**
+     * Get the barrier this Consumer waits on, which is null for a Consumer that polls rather than waiting on a
+     * single {@link RingBuffer}, such as a {@link MergingEventConsumer}
+     * @return the barrier, or null if there is none
+     */
+    ThresholdBarrier<?> getBarrier();
 }
@@ -0,0 +1,107 @@
+package org.garry.disruptor_clone;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Copy-on-write updates to the arrays of {@link GatingSequence}s, such as {@link EventConsumer}s, that gate producers
+ * and consumers, so they can be changed while running and readers only ever do a volatile read of the current array.
+ */
+final class EventConsumerGroups {
+
+    private EventConsumerGroups()
+    {
+    }
+
+    /**
+     * Add {@link GatingSequence}s to the array held by the updater, starting them at the cursor of the
+     * {@link RingBuffer}. They must not have been started yet.
+     *
+     * The sequences are set again once the new array is visible, as the cursor may have moved on by more than the
+     * capacity of the {@link RingBuffer} while producers were still gated by the old array.
+     *
+     * @param holder of the array
+     * @param updater for the array field
+     * @param ringBuffer whose cursor the new {@link GatingSequence}s start from
+     * @param eventConsumersToAdd to the array
+     * @param <H> type holding the array
+     * @param <E> type of the array elements
+     */
+    @SafeVarargs
+    static <H, E extends GatingSequence> void addEventConsumers(final H holder,
+                                                                final AtomicReferenceFieldUpdater<H, E[]> updater,
+                                                                final RingBuffer<?> ringBuffer,
+                                                                final E... eventConsumersToAdd)
+    {
+        E[] current;
+        E[] updated;
+        do
+        {
+            current = updater.get(holder);
+            updated = Arrays.copyOf(current, current.length + eventConsumersToAdd.length);
+
+            final long cursor = ringBuffer.getCursor();
+            int index = current.length;
+            for (E eventConsumer : eventConsumersToAdd)
+            {
+                eventConsumer.setSequence(cursor);
+                updated[index++] = eventConsumer;
+            }
+        }
+        while (!updater.compareAndSet(holder, current, updated));
+
+        final long cursor = ringBuffer.getCursor();
+        for (E eventConsumer : eventConsumersToAdd)
+        {
+            eventConsumer.setSequence(cursor);
+        }
+    }
+
+    /**
+     * Remove a {@link GatingSequence} from the array held by the updater
+     * @param holder of the array
+     * @param updater for the array field
+     * @param eventConsumerToRemove from the array
+     * @param <H> type holding the array
+     * @param <E> type of the array elements
+     * @return true if the {@link GatingSequence} was found and removed
+     */
+    static <H, E extends GatingSequence> boolean removeEventConsumer(final H holder,
+                                                                     final AtomicReferenceFieldUpdater<H, E[]> updater,
+                                                                     final GatingSequence eventConsumerToRemove)
+    {
+        E[] current;
+        E[] updated;
+        do
+        {
+            current = updater.get(holder);
+
+            int matches = 0;
+            for (E eventConsumer : current)
+            {
+                if (eventConsumer == eventConsumerToRemove)
+                {
+                    matches++;
+                }
+            }
+
+            if (0 == matches)
+            {
+                return false;
+            }
+
+            updated = Arrays.copyOf(current, current.length - matches);
+            int index = 0;
+            for (E eventConsumer : current)
+            {
+                if (eventConsumer != eventConsumerToRemove)
+                {
+                    updated[index++] = eventConsumer;
+                }
+            }
+        }
+        while (!updater.compareAndSet(holder, current, updated));
+
+        return true;
+    }
+}
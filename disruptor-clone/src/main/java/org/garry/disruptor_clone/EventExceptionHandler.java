@@ -3,4 +3,15 @@ package org.garry.disruptor_clone;
 public interface EventExceptionHandler {
 
     void handle(Exception ex, Entry currentEntry);
+
+    /**
+     * Handle an exception thrown while processing an event of any type. By default it is passed on to
+     * {@link #handle(Exception, Entry)}, as null if the event is not an {@link Entry}.
+     * @param ex thrown while processing
+     * @param currentEvent being processed
+     */
+    default void handleEvent(final Exception ex, final Object currentEvent)
+    {
+        handle(ex, currentEvent instanceof Entry ? (Entry) currentEvent : null);
+    }
 }
@@ -1,10 +1,12 @@
 package org.garry.disruptor_clone;
 
-public interface EventHandler<T extends Entry> {
+public interface EventHandler<T> extends SequencedEventHandler<T> {
 
     void onEvent(T entry);
 
-    void onEndOfBatch();
-
-    void onCompletion();
+    @Override
+    default void onEvent(final T entry, final long sequence)
+    {
+        onEvent(entry);
+    }
 }
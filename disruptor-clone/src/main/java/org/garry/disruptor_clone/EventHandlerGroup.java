@@ -0,0 +1,67 @@
+package org.garry.disruptor_clone;
+
+import java.util.Arrays;
+
+/**
+ * A group of {@link EventConsumer}s set up by a {@link Disruptor}, used to declare what depends on them
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ */
+public final class EventHandlerGroup<T> {
+
+    private final Disruptor<T> disruptor;
+    private final EventConsumer[] eventConsumers;
+
+    EventHandlerGroup(final Disruptor<T> disruptor, final EventConsumer[] eventConsumers)
+    {
+        this.disruptor = disruptor;
+        this.eventConsumers = eventConsumers;
+    }
+
+    /**
+     * Set up {@link BatchEventConsumer}s for the handlers that only see an {@link Entry} once every consumer
+     * in this group has processed it
+     * @param handlers to process the entries
+     * @return a group of the new consumers
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // passed on to the Disruptor, which only reads them
+    public final EventHandlerGroup<T> then(final SequencedEventHandler<T>... handlers)
+    {
+        return disruptor.createEventConsumers(eventConsumers, handlers);
+    }
+
+    /**
+     * Set up a {@link WorkerPool} for the handlers that only sees an {@link Entry} once every consumer
+     * in this group has processed it
+     * @param workHandlers to process the entries, each entry being handled by exactly one of them
+     * @return a group of the new workers
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // passed on to the Disruptor, which only reads them
+    public final EventHandlerGroup<T> thenHandleWithWorkerPool(final WorkHandler<T>... workHandlers)
+    {
+        return disruptor.createWorkerPool(eventConsumers, workHandlers);
+    }
+
+    /**
+     * Combine this group with another so that later consumers depend on both
+     * @param otherGroup to combine with
+     * @return the combined group
+     */
+    public EventHandlerGroup<T> and(final EventHandlerGroup<T> otherGroup)
+    {
+        final EventConsumer[] combined = Arrays.copyOf(eventConsumers, eventConsumers.length + otherGroup.eventConsumers.length);
+        System.arraycopy(otherGroup.eventConsumers, 0, combined, eventConsumers.length, otherGroup.eventConsumers.length);
+
+        return new EventHandlerGroup<>(disruptor, combined);
+    }
+
+    /**
+     * Get the {@link EventConsumer}s in this group
+     * @return the consumers
+     */
+    public EventConsumer[] getEventConsumers()
+    {
+        return eventConsumers.clone();
+    }
+}
@@ -0,0 +1,18 @@
+package org.garry.disruptor_clone;
+
+/**
+ * Translates data into a claimed {@link Entry} for publishing with {@link RingBuffer#publishEvent(EventTranslator)}
+ * or {@link SlotClaimer#publishEvent(EventTranslator)}, which commit the entry even if the translation throws.
+ *
+ * Translators should be stateless and held in static fields so that publishing does not allocate.
+ *
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ */
+public interface EventTranslator<T> {
+
+    /**
+     * Populate a claimed entry
+     * @param entry to be populated
+     */
+    void translateTo(T entry);
+}
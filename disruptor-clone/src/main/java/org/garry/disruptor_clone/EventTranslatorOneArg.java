@@ -0,0 +1,18 @@
+package org.garry.disruptor_clone;
+
+/**
+ * {@link EventTranslator} taking the data to publish as arguments, so a single stateless instance can be reused
+ * without capturing anything
+ *
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ * @param <A> type of the first argument
+ */
+public interface EventTranslatorOneArg<T, A> {
+
+    /**
+     * Populate a claimed entry from the arguments
+     * @param entry to be populated
+     * @param arg0 first argument to translate from
+     */
+    void translateTo(T entry, A arg0);
+}
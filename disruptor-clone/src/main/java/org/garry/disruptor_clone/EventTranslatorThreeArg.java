@@ -0,0 +1,22 @@
+package org.garry.disruptor_clone;
+
+/**
+ * {@link EventTranslator} taking the data to publish as arguments, so a single stateless instance can be reused
+ * without capturing anything
+ *
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ * @param <A> type of the first argument
+ * @param <B> type of the second argument
+ * @param <C> type of the third argument
+ */
+public interface EventTranslatorThreeArg<T, A, B, C> {
+
+    /**
+     * Populate a claimed entry from the arguments
+     * @param entry to be populated
+     * @param arg0 first argument to translate from
+     * @param arg1 second argument to translate from
+     * @param arg2 third argument to translate from
+     */
+    void translateTo(T entry, A arg0, B arg1, C arg2);
+}
@@ -18,7 +18,12 @@ public final class FatalEventExceptionHandler implements EventExceptionHandler{
 
     @Override
     public void handle(Exception ex, Entry currentEntry) {
-        logger.log(Level.SEVERE, "Exception processing: " + currentEntry, ex);
+        handleEvent(ex, currentEntry);
+    }
+
+    @Override
+    public void handleEvent(final Exception ex, final Object currentEvent) {
+        logger.log(Level.SEVERE, "Exception processing: " + currentEvent, ex);
 
         throw new RuntimeException(ex);
     }
@@ -0,0 +1,21 @@
+package org.garry.disruptor_clone;
+
+/**
+ * Sequence that producers are gated on, so they never claim a slot in the {@link RingBuffer} that has not been
+ * consumed up to it. Every {@link EventConsumer} is one, but anything that tracks consumption without running as an
+ * {@link EventConsumer} of its own, such as a lane drained by a {@link MergingEventConsumer}, can gate on its own.
+ */
+public interface GatingSequence {
+
+    /**
+     * Get the sequence up to which {@link Entry}s have been consumed
+     * @return the sequence of the last consumed {@link Entry}
+     */
+    long getSequence();
+
+    /**
+     * Set the sequence up to which {@link Entry}s are treated as consumed
+     * @param sequence of the last {@link Entry} to be treated as consumed
+     */
+    void setSequence(long sequence);
+}
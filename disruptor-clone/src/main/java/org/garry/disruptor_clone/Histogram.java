@@ -0,0 +1,179 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free histogram of non-negative long values with log-linear buckets.
+ *
+ * Values below 16 have a bucket each; above that each power of 2 is split into 16 linear buckets, so a recorded value
+ * is reported with a relative error of at most 1/16. Recording is allocation free and safe from any number of threads,
+ * which makes it suitable for instrumenting producers and consumers on their hot paths.
+ */
+public final class Histogram implements HistogramMBean {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a value, with negative values being counted as zero
+     * @param value to be recorded
+     */
+    public void record(final long value)
+    {
+        final long nonNegativeValue = value < 0L ? 0L : value;
+
+        counts.incrementAndGet(bucketIndex(nonNegativeValue));
+        total.addAndGet(nonNegativeValue);
+
+        long currentMax = max.get();
+        while (nonNegativeValue > currentMax && !max.compareAndSet(currentMax, nonNegativeValue))
+        {
+            currentMax = max.get();
+        }
+    }
+
+    @Override
+    public long getCount()
+    {
+        long count = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            count += counts.get(i);
+        }
+
+        return count;
+    }
+
+    @Override
+    public long getMax()
+    {
+        return max.get();
+    }
+
+    @Override
+    public double getMean()
+    {
+        final long count = getCount();
+        return 0L == count ? 0.0d : (double) total.get() / count;
+    }
+
+    @Override
+    public long getMedian()
+    {
+        return getValueAtPercentile(50.0d);
+    }
+
+    @Override
+    public long getPercentile99()
+    {
+        return getValueAtPercentile(99.0d);
+    }
+
+    @Override
+    public long getPercentile999()
+    {
+        return getValueAtPercentile(99.9d);
+    }
+
+    /**
+     * Get the value that the given percentage of recorded values are less than or equal to
+     * @param percentile between 0 and 100
+     * @return the highest value equivalent to the bucket holding the percentile, or 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(final double percentile)
+    {
+        final long count = getCount();
+        if (0L == count)
+        {
+            return 0L;
+        }
+
+        final long target = Math.max(1L, (long) Math.ceil(count * percentile / 100.0d));
+        long seen = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            seen += counts.get(i);
+            if (seen >= target)
+            {
+                return Math.min(highestEquivalentValue(i), max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    /**
+     * Copy the recorded values into another histogram and reset this one, for reporting over intervals.
+     * Values recorded concurrently with the copy are counted in exactly one of the intervals, though the
+     * total and max may be attributed to the neighbouring interval.
+     * @param target to receive the recorded values, which is reset first
+     */
+    public void copyAndReset(final Histogram target)
+    {
+        target.reset();
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            target.counts.set(i, counts.getAndSet(i, 0L));
+        }
+        target.total.set(total.getAndSet(0L));
+        target.max.set(max.getAndSet(0L));
+    }
+
+    /**
+     * Discard all recorded values
+     */
+    public void reset()
+    {
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            counts.set(i, 0L);
+        }
+        total.set(0L);
+        max.set(0L);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Histogram{" +
+            "count=" + getCount() +
+            ", mean=" + getMean() +
+            ", median=" + getMedian() +
+            ", 99%=" + getPercentile99() +
+            ", 99.9%=" + getPercentile999() +
+            ", max=" + getMax() +
+            '}';
+    }
+
+    static int bucketIndex(final long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int) value;
+        }
+
+        final int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestEquivalentValue(final int bucketIndex)
+    {
+        if (bucketIndex < SUB_BUCKET_COUNT)
+        {
+            return bucketIndex;
+        }
+
+        final int shift = bucketIndex / SUB_BUCKET_COUNT - 1;
+        final long subBucket = bucketIndex % SUB_BUCKET_COUNT;
+
+        return ((SUB_BUCKET_COUNT + subBucket + 1L) << shift) - 1L;
+    }
+}
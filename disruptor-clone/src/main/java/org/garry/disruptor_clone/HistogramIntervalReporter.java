@@ -0,0 +1,57 @@
+package org.garry.disruptor_clone;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports the values recorded in a set of {@link Histogram}s over each interval between runs, resetting them as it goes.
+ *
+ * Intended to be scheduled at a fixed rate, e.g. on a {@link java.util.concurrent.ScheduledExecutorService}, so that
+ * latency spikes can be lined up in time with GC logs or load. Each run prints one line per histogram:
+ * <pre>
+ * &lt;epoch millis&gt; &lt;name&gt; count=.. p50=.. p99=.. p99.9=.. max=..
+ * </pre>
+ */
+public final class HistogramIntervalReporter implements Runnable {
+
+    private final PrintStream out;
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final Histogram interval = new Histogram();
+
+    /**
+     * @param out to print the reports to
+     */
+    public HistogramIntervalReporter(final PrintStream out)
+    {
+        this.out = out;
+    }
+
+    /**
+     * Add a {@link Histogram} to be reported
+     * @param name to report the histogram under
+     * @param histogram to be reported
+     * @return this for chaining
+     */
+    public synchronized HistogramIntervalReporter add(final String name, final Histogram histogram)
+    {
+        histograms.put(name, histogram);
+        return this;
+    }
+
+    @Override
+    public synchronized void run()
+    {
+        final long timestamp = System.currentTimeMillis();
+        for (Map.Entry<String, Histogram> histogram : histograms.entrySet())
+        {
+            histogram.getValue().copyAndReset(interval);
+            out.println(timestamp + " " + histogram.getKey() +
+                        " count=" + interval.getCount() +
+                        " p50=" + interval.getMedian() +
+                        " p99=" + interval.getPercentile99() +
+                        " p99.9=" + interval.getPercentile999() +
+                        " max=" + interval.getMax());
+        }
+    }
+}
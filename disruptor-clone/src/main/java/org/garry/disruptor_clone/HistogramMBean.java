@@ -0,0 +1,19 @@
+package org.garry.disruptor_clone;
+
+/**
+ * JMX view of a {@link Histogram}
+ */
+public interface HistogramMBean {
+
+    long getCount();
+
+    long getMax();
+
+    double getMean();
+
+    long getMedian();
+
+    long getPercentile99();
+
+    long getPercentile999();
+}
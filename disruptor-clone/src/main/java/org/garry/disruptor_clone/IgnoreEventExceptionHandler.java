@@ -18,7 +18,12 @@ public final class IgnoreEventExceptionHandler implements EventExceptionHandler
 
     @Override
     public void handle(final Exception ex, final Entry currentEntry) {
-        logger.log(Level.INFO, "Exception processing: " + currentEntry, ex);
+        handleEvent(ex, currentEntry);
+    }
+
+    @Override
+    public void handleEvent(final Exception ex, final Object currentEvent) {
+        logger.log(Level.INFO, "Exception processing: " + currentEvent, ex);
     }
 }
 
@@ -0,0 +1,31 @@
+package org.garry.disruptor_clone;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary encoding of {@link Entry}s for writing to and reading from a journal
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ */
+public interface JournalCodec<T> {
+
+    /**
+     * Get the number of bytes the entry will occupy when encoded
+     * @param entry to be encoded
+     * @return the encoded length in bytes
+     */
+    int encodedLength(T entry);
+
+    /**
+     * Encode the entry at the current position of the buffer, advancing the position by exactly {@link #encodedLength(Object)}
+     * @param entry to be encoded
+     * @param buffer to encode into
+     */
+    void encode(T entry, ByteBuffer buffer);
+
+    /**
+     * Decode the entry from the buffer, which is limited to the encoded bytes of the entry
+     * @param buffer to decode from
+     * @param entry to be populated
+     */
+    void decode(ByteBuffer buffer, T entry);
+}
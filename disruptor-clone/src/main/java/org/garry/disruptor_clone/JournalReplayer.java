@@ -0,0 +1,229 @@
+package org.garry.disruptor_clone;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import static org.garry.disruptor_clone.JournalingEventHandler.HEADER_LENGTH;
+
+/**
+ * Replays a journal written by a {@link JournalingEventHandler} to rebuild state after a restart.
+ *
+ * Segments are memory mapped and streamed sequentially. When given an {@link Executor} the next segment is
+ * mapped and loaded into memory while the current one is being replayed.
+ *
+ * Entries can be replayed straight into an {@link EventHandler} without a {@link RingBuffer}, or republished into a
+ * new {@link RingBuffer} with batch claims so the whole consumer graph sees them. In both cases the last replayed
+ * sequence is returned so live publishing can take over from the next sequence. After replaying into a handler,
+ * the live {@link RingBuffer} is positioned at that sequence with {@link Disruptor#resetTo(long)}. When republishing,
+ * the ring sequences must line up with the journal, and a {@link JournalingEventHandler} in the graph must be told
+ * to pass the replayed entries on with {@link JournalingEventHandler#passReplayedEntriesThrough()}.
+ *
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ */
+public final class JournalReplayer<T> {
+
+    private final File directory;
+    private final JournalCodec<T> codec;
+    private final Executor readAheadExecutor;
+
+    /**
+     * Construct a replayer that maps each segment only when it is reached
+     * @param directory holding the journal
+     * @param codec for decoding the entries
+     */
+    public JournalReplayer(final File directory, final JournalCodec<T> codec)
+    {
+        this(directory, codec, null);
+    }
+
+    /**
+     * @param directory holding the journal
+     * @param codec for decoding the entries
+     * @param readAheadExecutor for loading the next segment while the current one is replayed, or null for none
+     */
+    public JournalReplayer(final File directory, final JournalCodec<T> codec, final Executor readAheadExecutor)
+    {
+        this.directory = directory;
+        this.codec = codec;
+        this.readAheadExecutor = readAheadExecutor;
+    }
+
+    /**
+     * Replay the journal directly into an {@link EventHandler}, calling {@link EventHandler#onEndOfBatch()} after each segment
+     * @param handler to receive the replayed entries
+     * @param entry to be reused for decoding each record
+     * @return the last replayed sequence or {@link RingBuffer#INITIAL_CURSOR_VALUE} if the journal is empty
+     * @throws IOException if a segment cannot be read
+     */
+    public long replay(final SequencedEventHandler<T> handler, final T entry) throws IOException
+    {
+        long lastSequence = RingBuffer.INITIAL_CURSOR_VALUE;
+
+        final File[] segments = JournalingEventHandler.listSegments(directory);
+        FutureTask<MappedByteBuffer> next = readAhead(segments, 0);
+        for (int i = 0; i < segments.length; i++)
+        {
+            final MappedByteBuffer buffer = await(next, segments[i]);
+            next = readAhead(segments, i + 1);
+
+            int position = 0;
+            int length;
+            while (0 != (length = recordLength(buffer, position)))
+            {
+                lastSequence = buffer.getLong(position + 4);
+                decode(buffer, position, length, entry);
+                handler.onEvent(entry, lastSequence);
+
+                position += HEADER_LENGTH + length;
+            }
+
+            handler.onEndOfBatch();
+        }
+
+        return lastSequence;
+    }
+
+    /**
+     * Republish the journal into the {@link RingBuffer} of a {@link SlotClaimer} using batch claims
+     * @param slotClaimer for claiming slots in a {@link RingBuffer} whose sequences line up with the journal,
+     * which must be the only producer while replaying
+     * @param batchSize maximum number of entries to claim at once
+     * @return the last replayed sequence or {@link RingBuffer#INITIAL_CURSOR_VALUE} if the journal is empty
+     * @throws IOException if a segment cannot be read
+     * @throws IllegalStateException if the journal sequences do not line up with the {@link RingBuffer}, which is
+     * detected before the mismatched entry is claimed
+     * @throws RuntimeException from the codec, after the claimed batch has been published so consumers never stall
+     */
+    public long replay(final SlotClaimer<T> slotClaimer, final int batchSize) throws IOException
+    {
+        final RingBuffer<? extends T> ringBuffer = slotClaimer.getRingBuffer();
+        final SequenceBatch fullBatch = new SequenceBatch(batchSize);
+        long lastSequence = RingBuffer.INITIAL_CURSOR_VALUE;
+
+        final File[] segments = JournalingEventHandler.listSegments(directory);
+        FutureTask<MappedByteBuffer> next = readAhead(segments, 0);
+        for (int i = 0; i < segments.length; i++)
+        {
+            final MappedByteBuffer buffer = await(next, segments[i]);
+            next = readAhead(segments, i + 1);
+
+            int position = 0;
+            while (0 != recordLength(buffer, position))
+            {
+                final long nextSequence = ringBuffer.getClaimedSequence() + 1L;
+                final long journaledSequence = buffer.getLong(position + 4);
+                if (journaledSequence != nextSequence)
+                {
+                    throw new IllegalStateException("journal sequence " + journaledSequence +
+                                                    " does not match ring sequence " + nextSequence);
+                }
+
+                final int count = countContiguousRecords(buffer, position, batchSize);
+                final SequenceBatch sequenceBatch = count == batchSize ? fullBatch : new SequenceBatch(count);
+                slotClaimer.next(sequenceBatch);
+                try
+                {
+                    for (long sequence = sequenceBatch.getStart(); sequence <= sequenceBatch.getEnd(); sequence++)
+                    {
+                        final int length = recordLength(buffer, position);
+                        decode(buffer, position, length, ringBuffer.get(sequence));
+                        position += HEADER_LENGTH + length;
+                    }
+                }
+                finally
+                {
+                    slotClaimer.publish(sequenceBatch);
+                }
+                lastSequence = sequenceBatch.getEnd();
+            }
+        }
+
+        return lastSequence;
+    }
+
+    private void decode(final MappedByteBuffer buffer, final int position, final int length, final T entry)
+    {
+        buffer.limit(position + HEADER_LENGTH + length).position(position + HEADER_LENGTH);
+        codec.decode(buffer, entry);
+        buffer.limit(buffer.capacity());
+    }
+
+    private static int recordLength(final MappedByteBuffer buffer, final int position)
+    {
+        if (position + HEADER_LENGTH > buffer.capacity())
+        {
+            return 0;
+        }
+
+        final int length = buffer.getInt(position);
+        return length > 0 && position + HEADER_LENGTH + length <= buffer.capacity() ? length : 0;
+    }
+
+    private static int countContiguousRecords(final MappedByteBuffer buffer, final int position, final int max)
+    {
+        final long firstSequence = buffer.getLong(position + 4);
+        int count = 0;
+        int length;
+        for (int p = position;
+             count < max && 0 != (length = recordLength(buffer, p)) && buffer.getLong(p + 4) == firstSequence + count;
+             p += HEADER_LENGTH + length)
+        {
+            count++;
+        }
+
+        return count;
+    }
+
+    private FutureTask<MappedByteBuffer> readAhead(final File[] segments, final int index)
+    {
+        if (index >= segments.length)
+        {
+            return null;
+        }
+
+        final FutureTask<MappedByteBuffer> task = new FutureTask<>(() -> map(segments[index]).load());
+        if (null != readAheadExecutor)
+        {
+            readAheadExecutor.execute(task);
+        }
+
+        return task;
+    }
+
+    private static MappedByteBuffer await(final FutureTask<MappedByteBuffer> task, final File segment)
+        throws IOException
+    {
+        if (!task.isDone())
+        {
+            task.run();
+        }
+
+        try
+        {
+            return task.get();
+        }
+        catch (final InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted reading " + segment, ex);
+        }
+        catch (final ExecutionException ex)
+        {
+            throw new IOException("cannot read " + segment, ex.getCause());
+        }
+    }
+
+    private static MappedByteBuffer map(final File segment) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.READ))
+        {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
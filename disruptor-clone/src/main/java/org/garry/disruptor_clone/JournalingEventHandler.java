@@ -0,0 +1,289 @@
+package org.garry.disruptor_clone;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * {@link SequencedEventHandler} that appends each {@link Entry} to a journal of memory mapped segment files
+ * before any dependent {@link EventConsumer} gets to see it.
+ *
+ * The records appended in a batch are forced to storage once in {@link #onEndOfBatch()}, so the natural batching
+ * of the {@link BatchEventConsumer} gives a group commit. Progress is only reported after the force, so consumers
+ * gated on this handler's {@link BatchEventConsumer} only ever see durable entries.
+ *
+ * Each record is laid out as [int length][long sequence][payload] and a length of zero marks the end of a segment,
+ * so every entry must encode to at least one byte.
+ * Segments are named after the first sequence they contain and a new segment is started when the current one is full.
+ * When the journal directory already contains segments, appending resumes after the last record.
+ *
+ * Entries must arrive in unbroken sequence following the last journaled one, so a {@link RingBuffer} taking over
+ * from a replayed journal has to be positioned with {@link RingBuffer#resetTo(long)} or {@link Disruptor#resetTo(long)}.
+ * Any other sequence is rejected with an {@link IllegalStateException} rather than silently lost. When the journal is
+ * republished through the ring instead, {@link #passReplayedEntriesThrough()} lets the replayed entries pass.
+ *
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ */
+public final class JournalingEventHandler<T> implements SequencedProgressReportingEventHandler<T> {
+
+    static final int HEADER_LENGTH = 4 + 8;
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private final File directory;
+    private final int segmentSize;
+    private final JournalCodec<T> codec;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int forcedPosition;
+    private long lastJournaledSequence = RingBuffer.INITIAL_CURSOR_VALUE;
+    private long lastSequence = RingBuffer.INITIAL_CURSOR_VALUE;
+    private long nextSequence = 0L;
+    private BatchEventConsumer<?>.ProgressTrackerCallback progressTrackerCallback;
+
+    /**
+     * @param directory to hold the journal segments, which will be created if it does not exist
+     * @param segmentSize in bytes of each segment file
+     * @param codec for encoding the entries
+     * @throws IOException if the existing journal cannot be opened
+     */
+    public JournalingEventHandler(final File directory, final int segmentSize, final JournalCodec<T> codec)
+        throws IOException
+    {
+        if (segmentSize <= HEADER_LENGTH)
+        {
+            throw new IllegalArgumentException("segment size must be greater than " + HEADER_LENGTH);
+        }
+        if (!directory.isDirectory() && !directory.mkdirs())
+        {
+            throw new IOException("cannot create journal directory " + directory);
+        }
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.codec = codec;
+
+        final File[] segments = listSegments(directory);
+        if (segments.length > 0)
+        {
+            resume(segments[segments.length - 1]);
+        }
+        nextSequence = lastJournaledSequence + 1L;
+    }
+
+    /**
+     * Expect the journal to be republished through the {@link RingBuffer} from its first sequence with
+     * {@link JournalReplayer#replay(SlotClaimer, int)}, passing the replayed entries on without journaling them again.
+     * Must be called before the consumer is started.
+     */
+    public void passReplayedEntriesThrough()
+    {
+        final File[] segments = listSegments(directory);
+        if (segments.length > 0)
+        {
+            nextSequence = firstSequence(segments[0]);
+        }
+    }
+
+    @Override
+    public void setProgressTracker(final BatchEventConsumer<?>.ProgressTrackerCallback progressTrackerCallback)
+    {
+        this.progressTrackerCallback = progressTrackerCallback;
+    }
+
+    @Override
+    public void onEvent(final T entry, final long sequence)
+    {
+        if (sequence != nextSequence)
+        {
+            throw new IllegalStateException("sequence " + sequence + " does not follow journal sequence " +
+                                            (nextSequence - 1L));
+        }
+
+        if (sequence > lastJournaledSequence)
+        {
+            append(entry, sequence);
+        }
+
+        nextSequence = sequence + 1L;
+        lastSequence = sequence;
+    }
+
+    @Override
+    public void onEndOfBatch()
+    {
+        if (null != buffer)
+        {
+            force();
+        }
+
+        if (null != progressTrackerCallback)
+        {
+            progressTrackerCallback.onCompleted(lastSequence);
+        }
+    }
+
+    @Override
+    public void onCompletion()
+    {
+        try
+        {
+            closeSegment();
+        }
+        catch (final IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Get the sequence of the last entry appended to the journal
+     * @return the last journaled sequence or {@link RingBuffer#INITIAL_CURSOR_VALUE} if the journal is empty
+     */
+    public long getLastJournaledSequence()
+    {
+        return lastJournaledSequence;
+    }
+
+    /**
+     * List the segments of a journal in sequence order
+     * @param directory holding the journal
+     * @return the segment files
+     */
+    static File[] listSegments(final File directory)
+    {
+        final File[] segments = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+        if (null == segments)
+        {
+            return new File[0];
+        }
+
+        Arrays.sort(segments);
+        return segments;
+    }
+
+    static File segmentFile(final File directory, final long firstSequence)
+    {
+        return new File(directory, String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+    }
+
+    static long firstSequence(final File segment)
+    {
+        final String name = segment.getName();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void append(final T entry, final long sequence)
+    {
+        final int length = codec.encodedLength(entry);
+        if (length <= 0)
+        {
+            throw new IllegalArgumentException("entry must encode to at least 1 byte as a length of 0 ends a segment");
+        }
+        if (HEADER_LENGTH + length > segmentSize)
+        {
+            throw new IllegalArgumentException("entry of " + length + " bytes does not fit in a journal segment");
+        }
+
+        try
+        {
+            if (null == buffer || buffer.remaining() < HEADER_LENGTH + length)
+            {
+                roll(sequence);
+            }
+        }
+        catch (final IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+
+        final int start = buffer.position();
+        buffer.putLong(start + 4, sequence);
+        buffer.position(start + HEADER_LENGTH);
+        try
+        {
+            codec.encode(entry, buffer);
+        }
+        catch (final RuntimeException ex)
+        {
+            buffer.position(start);
+            throw ex;
+        }
+
+        if (buffer.position() != start + HEADER_LENGTH + length)
+        {
+            buffer.position(start);
+            throw new IllegalStateException("codec did not encode exactly " + length + " bytes");
+        }
+
+        buffer.putInt(start, length);
+        lastJournaledSequence = sequence;
+    }
+
+    /**
+     * Force the records appended since the last force rather than the whole mapping
+     */
+    private void force()
+    {
+        final int position = buffer.position();
+        if (position > forcedPosition)
+        {
+            buffer.force(forcedPosition, position - forcedPosition);
+            forcedPosition = position;
+        }
+    }
+
+    private void resume(final File segment) throws IOException
+    {
+        map(segment);
+        lastJournaledSequence = firstSequence(segment) - 1L;
+
+        int position = 0;
+        while (position + HEADER_LENGTH <= segmentSize)
+        {
+            final int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_LENGTH + length > segmentSize)
+            {
+                break;
+            }
+
+            lastJournaledSequence = buffer.getLong(position + 4);
+            position += HEADER_LENGTH + length;
+        }
+
+        buffer.position(position);
+        forcedPosition = position;
+    }
+
+    private void roll(final long firstSequence) throws IOException
+    {
+        closeSegment();
+        map(segmentFile(directory, firstSequence));
+    }
+
+    private void map(final File segment) throws IOException
+    {
+        channel = FileChannel.open(segment.toPath(),
+                                   StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        forcedPosition = 0;
+    }
+
+    private void closeSegment() throws IOException
+    {
+        if (null != buffer)
+        {
+            force();
+            buffer = null;
+        }
+        if (null != channel)
+        {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link EventConsumer} for fanning in many producers to one handler, where each producer is given its own lane:
+ * a {@link RingBuffer} with {@link SequenceClaimThreadingStrategy#SINGLE_THREAD} claiming that only it publishes to.
+ *
+ * Producers never contend on a shared claim sequence or cursor, so claiming is wait-free unless their lane is full.
+ * The consumer drains the lanes round-robin, taking up to a batch from each lane in turn, and hands the entries
+ * to the handler in the order of a merged sequence, calling {@link EventHandler#onEndOfBatch()} after each round
+ * that found entries. Ordering is preserved within a lane but not across lanes.
+ *
+ * Lanes are registered with {@link #registerProducer()} and unregistered with
+ * {@link #unregisterProducer(SlotClaimer)}, which can be done while the consumer is running, as they are held in a
+ * copy-on-write array. As the consumer cannot block on many rings at once it uses {@link ProgressiveBackoff} when
+ * every lane is empty, first spinning, then yielding, then parking, so it has no {@link ThresholdBarrier}.
+ *
+ * @param <T> type of the entries stored in the lanes
+ */
+public final class MergingEventConsumer<T> implements EventConsumer {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MergingEventConsumer, Lane[]> LANES_UPDATER =
+        AtomicReferenceFieldUpdater.newUpdater(MergingEventConsumer.class, Lane[].class, "lanes");
+
+    private final Sequence sequence = new Sequence(RingBuffer.INITIAL_CURSOR_VALUE);
+    private volatile boolean running = true;
+    private volatile Thread consumerThread;
+    private volatile Lane<T>[] lanes = newLanes();
+
+    private final Factory<T> entryFactory;
+    private final int laneSize;
+    private final int batchSize;
+    private final SequencedEventHandler<T> handler;
+    private EventExceptionHandler eventExceptionHandler = new FatalEventExceptionHandler();
+
+    /**
+     * @param entryFactory to create entries for filling the lanes
+     * @param laneSize of the {@link RingBuffer} for each lane that will be rounded up to the next power of 2
+     * @param batchSize maximum number of entries to take from a lane before moving on to the next
+     * @param handler to call for each entry
+     */
+    public MergingEventConsumer(final Factory<T> entryFactory, final int laneSize, final int batchSize,
+                                final SequencedEventHandler<T> handler)
+    {
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+
+        this.entryFactory = entryFactory;
+        this.laneSize = laneSize;
+        this.batchSize = batchSize;
+        this.handler = handler;
+    }
+
+    public void setEventExceptionHandler(final EventExceptionHandler eventExceptionHandler)
+    {
+        if (null == eventExceptionHandler)
+        {
+            throw new NullPointerException();
+        }
+        this.eventExceptionHandler = eventExceptionHandler;
+    }
+
+    /**
+     * Create a lane for a new producer. The returned {@link SlotClaimer} must only be used by one thread at a time.
+     * @return the claimer for publishing to the lane
+     */
+    public SlotClaimer<T> registerProducer()
+    {
+        final RingBuffer<T> ringBuffer = new RingBuffer<>(entryFactory, laneSize,
+                                                          SequenceClaimThreadingStrategy.SINGLE_THREAD,
+                                                          WaitStrategyOption.BUSY_SPIN);
+        final Lane<T> lane = new Lane<>(ringBuffer);
+        EventConsumerGroups.addEventConsumers(this, LANES_UPDATER, ringBuffer, lane);
+
+        return new ProgressiveBackoffSlotClaimer<>(0, ringBuffer, lane);
+    }
+
+    /**
+     * Remove the lane of a producer, which may be done while the consumer is running. The producer must have stopped
+     * publishing to the lane, and entries it published that have not been handed to the handler yet are discarded.
+     * @param slotClaimer returned from {@link #registerProducer()} for the lane
+     * @return true if the lane was found and removed
+     */
+    public boolean unregisterProducer(final SlotClaimer<T> slotClaimer)
+    {
+        for (Lane<T> lane : lanes)
+        {
+            if (lane.ringBuffer == slotClaimer.getRingBuffer())
+            {
+                return EventConsumerGroups.removeEventConsumer(this, LANES_UPDATER, lane);
+            }
+        }
+
+        return false;
+    }
+
+    public int getLaneCount()
+    {
+        return lanes.length;
+    }
+
+    /**
+     * Get the sequence of the last entry handled in the merged order of all the lanes
+     * @return the merged sequence
+     */
+    @Override
+    public long getSequence()
+    {
+        return sequence.get();
+    }
+
+    @Override
+    public void setSequence(final long sequence)
+    {
+        this.sequence.set(sequence);
+    }
+
+    @Override
+    public void halt()
+    {
+        running = false;
+        LockSupport.unpark(consumerThread);
+    }
+
+    /**
+     * There is no barrier as each lane is polled directly, so dependent consumers must gate on this consumer itself
+     * with {@link #getSequence()}
+     * @return null
+     */
+    @Override
+    public ThresholdBarrier<T> getBarrier()
+    {
+        return null;
+    }
+
+    @Override
+    public void run()
+    {
+        final Thread thisThread = Thread.currentThread();
+        consumerThread = thisThread;
+        long mergedSequence = sequence.get();
+        int idleCounter = 0;
+
+        while (running && !thisThread.isInterrupted())
+        {
+            final long lastMergedSequence = mergedSequence;
+            for (Lane<T> lane : lanes)
+            {
+                mergedSequence = drain(lane, mergedSequence);
+            }
+
+            if (mergedSequence != lastMergedSequence)
+            {
+                sequence.set(mergedSequence);
+                handler.onEndOfBatch();
+                idleCounter = 0;
+            }
+            else
+            {
+                idleCounter = ProgressiveBackoff.backOff(idleCounter);
+            }
+        }
+
+        handler.onCompletion();
+    }
+
+    private long drain(final Lane<T> lane, final long mergedSequence)
+    {
+        final long nextSequence = lane.sequence.get() + 1L;
+        final long availableSequence = lane.ringBuffer.getCursor();
+        if (availableSequence < nextSequence)
+        {
+            return mergedSequence;
+        }
+
+        final long endSequence = availableSequence - nextSequence < batchSize ?
+                availableSequence : nextSequence + batchSize - 1L;
+
+        long merged = mergedSequence;
+        for (long i = nextSequence; i <= endSequence; i++)
+        {
+            final T entry = lane.ringBuffer.get(i);
+            try
+            {
+                handler.onEvent(entry, ++merged);
+            }
+            catch (final Exception ex)
+            {
+                eventExceptionHandler.handleEvent(ex, entry);
+            }
+        }
+        lane.sequence.set(endSequence);
+
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Lane<T>[] newLanes()
+    {
+        return (Lane<T>[]) new Lane<?>[0];
+    }
+
+    /**
+     * Lane of a single producer, which gates that producer on how far the merging consumer has drained it
+     * @param <T> type of the entries stored in the lane
+     */
+    private static final class Lane<T> implements GatingSequence
+    {
+        private final Sequence sequence = new Sequence(RingBuffer.INITIAL_CURSOR_VALUE);
+        private final RingBuffer<T> ringBuffer;
+
+        private Lane(final RingBuffer<T> ringBuffer)
+        {
+            this.ringBuffer = ringBuffer;
+        }
+
+        @Override
+        public long getSequence()
+        {
+            return sequence.get();
+        }
+
+        @Override
+        public void setSequence(final long sequence)
+        {
+            this.sequence.set(sequence);
+        }
+    }
+}
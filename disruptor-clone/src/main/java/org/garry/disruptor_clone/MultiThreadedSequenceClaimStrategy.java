@@ -1,14 +1,17 @@
 package org.garry.disruptor_clone;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 final class MultiThreadedSequenceClaimStrategy implements SequenceClaimStrategy {
 
-    private final AtomicLong sequence = new AtomicLong(0);
+    private final Sequence sequence = new Sequence(0L);
 
     @Override
     public long getAndIncrement() {
-        return sequence.getAndIncrement();
+        return sequence.incrementAndGet() - 1L;
+    }
+
+    @Override
+    public long getAndAdd(final int delta) {
+        return sequence.addAndGet(delta) - delta;
     }
 
     @Override
@@ -16,4 +19,9 @@ final class MultiThreadedSequenceClaimStrategy implements SequenceClaimStrategy
         this.sequence.set(sequence);
 
     }
+
+    @Override
+    public long getSequence() {
+        return sequence.get();
+    }
 }
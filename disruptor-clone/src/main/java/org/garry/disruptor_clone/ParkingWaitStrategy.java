@@ -0,0 +1,125 @@
+package org.garry.disruptor_clone;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.garry.disruptor_clone.Util.getMinimumSequence;
+
+/**
+ * Blocking strategy that parks {@link EventConsumer}s waiting on the cursor with {@link LockSupport} rather than a lock,
+ * so consumers running on virtual threads unmount from their carrier while waiting
+ *
+ * Dependent {@link EventConsumer}s are waited on by yielding, which lets a virtual thread give up its carrier too.
+ *
+ * A waiter registers its thread before checking the cursor, and producers advance the cursor before checking for
+ * waiters, so one side always sees the other and no wakeup is lost. Producers do nothing more than that check
+ * when no consumer is parked.
+ */
+final class ParkingWaitStrategy implements WaitStrategy {
+
+    private final Set<Thread> waiters = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public long waitFor(final EventConsumer[] eventConsumers, final RingBuffer<?> ringBuffer,
+                        final ThresholdBarrier<?> barrier, final long sequence)
+            throws AlertException, InterruptedException
+    {
+        long availableSequence;
+        if ((availableSequence = ringBuffer.getCursor()) < sequence)
+        {
+            final Thread thread = Thread.currentThread();
+            waiters.add(thread);
+            try
+            {
+                while ((availableSequence = ringBuffer.getCursor()) < sequence)
+                {
+                    barrier.checkForAlert();
+                    LockSupport.park(this);
+                    if (Thread.interrupted())
+                    {
+                        throw new InterruptedException();
+                    }
+                }
+            }
+            finally
+            {
+                waiters.remove(thread);
+            }
+        }
+
+        if (0 != eventConsumers.length)
+        {
+            while ((availableSequence = getMinimumSequence(eventConsumers)) < sequence)
+            {
+                barrier.checkForAlert();
+                Thread.yield();
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public long waitFor(final EventConsumer[] eventConsumers, final RingBuffer<?> ringBuffer,
+                        final ThresholdBarrier<?> barrier, final long sequence,
+                        final long timeout, final TimeUnit units)
+            throws AlertException, InterruptedException
+    {
+        final long deadline = System.nanoTime() + units.toNanos(timeout);
+
+        long availableSequence;
+        if ((availableSequence = ringBuffer.getCursor()) < sequence)
+        {
+            final Thread thread = Thread.currentThread();
+            waiters.add(thread);
+            try
+            {
+                while ((availableSequence = ringBuffer.getCursor()) < sequence)
+                {
+                    barrier.checkForAlert();
+                    final long remainingNanos = deadline - System.nanoTime();
+                    if (remainingNanos <= 0)
+                    {
+                        break;
+                    }
+                    LockSupport.parkNanos(this, remainingNanos);
+                    if (Thread.interrupted())
+                    {
+                        throw new InterruptedException();
+                    }
+                }
+            }
+            finally
+            {
+                waiters.remove(thread);
+            }
+        }
+
+        if (0 != eventConsumers.length)
+        {
+            while ((availableSequence = getMinimumSequence(eventConsumers)) < sequence)
+            {
+                barrier.checkForAlert();
+                if (System.nanoTime() - deadline >= 0)
+                {
+                    break;
+                }
+                Thread.yield();
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAll()
+    {
+        if (!waiters.isEmpty())
+        {
+            for (Thread waiter : waiters)
+            {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+}
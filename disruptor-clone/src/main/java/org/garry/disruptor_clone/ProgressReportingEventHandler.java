@@ -1,6 +1,7 @@
 package org.garry.disruptor_clone;
 
-public interface ProgressReportingEventHandler<T extends Entry> extends EventHandler<T> {
+public interface ProgressReportingEventHandler<T> extends EventHandler<T>, SequencedProgressReportingEventHandler<T> {
 
-    void setProgressTracker(final BatchEventConsumer.ProgressTrackerCallback progressTrackerCallback);
+    @Override
+    void setProgressTracker(final BatchEventConsumer<?>.ProgressTrackerCallback progressTrackerCallback);
 }
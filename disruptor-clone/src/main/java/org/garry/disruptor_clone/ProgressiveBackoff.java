@@ -0,0 +1,45 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Back off for threads that poll rather than block: busy spin first, then yield, then park for a period that
+ * doubles on each attempt up to a maximum, so a thread with nothing to do gives its core away rather than burning it.
+ */
+final class ProgressiveBackoff {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long MIN_PARK_NANOS = 1000L;
+    private static final int MAX_PARK_DOUBLINGS = 10;
+
+    private ProgressiveBackoff()
+    {
+    }
+
+    /**
+     * Back off once
+     * @param counter returned from the previous back off, starting at zero after any progress is made
+     * @return the counter to be passed to the next back off
+     */
+    static int backOff(final int counter)
+    {
+        if (counter < SPIN_TRIES)
+        {
+            // busy spin
+        }
+        else if (counter < SPIN_TRIES + YIELD_TRIES)
+        {
+            Thread.yield();
+        }
+        else
+        {
+            final int doublings = counter - (SPIN_TRIES + YIELD_TRIES);
+            LockSupport.parkNanos(MIN_PARK_NANOS << doublings);
+
+            return doublings < MAX_PARK_DOUBLINGS ? counter + 1 : counter;
+        }
+
+        return counter + 1;
+    }
+}
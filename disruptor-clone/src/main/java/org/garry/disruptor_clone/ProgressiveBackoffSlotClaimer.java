@@ -0,0 +1,23 @@
+package org.garry.disruptor_clone;
+
+/**
+ * SlotClaimer that backs off progressively while waiting for a slot in the {@link RingBuffer}.
+ *
+ * It uses {@link ProgressiveBackoff}, busy spinning first, then yielding, then parking for longer on each attempt,
+ * so a producer held up by slow {@link EventConsumer}s gives its core away rather than burning it.
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ */
+public final class ProgressiveBackoffSlotClaimer<T> extends AbstractSlotClaimer<T> {
+
+    public ProgressiveBackoffSlotClaimer(final int bufferReverseThreshold,
+                                         final RingBuffer<? extends T> ringBuffer,
+                                         final GatingSequence... gatingEventConsumers) {
+        super(bufferReverseThreshold, ringBuffer, gatingEventConsumers);
+    }
+
+    @Override
+    protected int backOff(final int counter)
+    {
+        return ProgressiveBackoff.backOff(counter);
+    }
+}
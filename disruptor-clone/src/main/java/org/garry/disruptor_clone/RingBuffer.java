@@ -1,29 +1,33 @@
 package org.garry.disruptor_clone;
 
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import static org.garry.disruptor_clone.Util.ceilingNextPowerOfTwo;
 
 /**
  * Ring based store of reusable entries containing the data representing an {@link Entry} being exchanged between producers and consumers
  *
- * @param <T> Entry implementation storing the data for sharing during exchange or parallel coordination of an event
+ * @param <T> event storing the data for sharing during exchange or parallel coordination of an event
  */
-public final class RingBuffer<T extends Entry> {
+public final class RingBuffer<T> {
 
     /**
      * Set to -1 as sequence starting point
      */
     public static final long INITIAL_CURSOR_VALUE = -1;
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<RingBuffer.RingBufferThresholdBarrier, EventConsumer[]>
+        BARRIER_CONSUMERS_UPDATER = AtomicReferenceFieldUpdater.newUpdater(
+            RingBuffer.RingBufferThresholdBarrier.class, EventConsumer[].class, "eventConsumers");
+
     private final Object[] entries;
     private final int ringModMask;
-
-    private final CommitCallback appendCallback = new AppendCommitCallback();
-    private final CommitCallback setCallback = new SetCommitCallback();
+    private final int indexShift;
+    private final AtomicIntegerArray availableBuffer;
+    private final long[] commitTimes;
 
     /**
      * Pre-allocated exception to avoid garbage generation
@@ -31,19 +35,62 @@ public final class RingBuffer<T extends Entry> {
     public static final AlertException ALERT_EXCEPTION = new AlertException();
 
     private final SequenceClaimStrategy sequenceClaimStrategy;
-    private final Lock lock = new ReentrantLock();
-    private final Condition consumerNotifyCondition = lock.newCondition();
+    private final WaitStrategy waitStrategy;
+
+    private final Sequence cursor = new Sequence(INITIAL_CURSOR_VALUE);
 
-    private volatile long cursor = INITIAL_CURSOR_VALUE;
+    private final CommitCallback appendCallback = this::publish;
+    private final CommitCallback setCallback = this::forcePublish;
 
+    /**
+     * Construct a RingBuffer with the full option set
+     *
+     * @param entryFactory to create {@link Entry}s for filling the RingBuffer
+     * @param size of the RingBuffer that will be rounded up to the next power of 2
+     * @param sequenceClaimThreadingStrategy threading strategy for producers claiming {@link Entry}s in the ring
+     * @param waitStrategyOption waiting strategy employed by consumers waiting on {@link Entry}s becoming available
+     * @param stampCommitTimes true to record the {@link System#nanoTime()} each {@link Entry} is committed at
+     *                         for tracing latency with {@link #getCommitTime(long)}
+     */
     public RingBuffer(final Factory<T> entryFactory, final int size,
-                      final SequenceClaimThreadingStrategy sequenceClaimThreadingStrategy)
+                      final SequenceClaimThreadingStrategy sequenceClaimThreadingStrategy,
+                      final WaitStrategyOption waitStrategyOption,
+                      final boolean stampCommitTimes)
     {
         int sizeAsPowerOfTwo = ceilingNextPowerOfTwo(size);
         ringModMask = sizeAsPowerOfTwo - 1;
+        indexShift = Integer.numberOfTrailingZeros(sizeAsPowerOfTwo);
         entries = new Object[sizeAsPowerOfTwo];
         fill(entryFactory);
         sequenceClaimStrategy = sequenceClaimThreadingStrategy.newInstance();
+        waitStrategy = waitStrategyOption.newInstance();
+        commitTimes = stampCommitTimes ? new long[sizeAsPowerOfTwo] : null;
+
+        if (SequenceClaimThreadingStrategy.MULTI_THREADED_AVAILABILITY == sequenceClaimThreadingStrategy)
+        {
+            availableBuffer = new AtomicIntegerArray(sizeAsPowerOfTwo);
+            for (int i = 0; i < sizeAsPowerOfTwo; i++)
+            {
+                availableBuffer.set(i, -1);
+            }
+        }
+        else
+        {
+            availableBuffer = null;
+        }
+    }
+
+    public RingBuffer(final Factory<T> entryFactory, final int size,
+                      final SequenceClaimThreadingStrategy sequenceClaimThreadingStrategy,
+                      final WaitStrategyOption waitStrategyOption)
+    {
+        this(entryFactory, size, sequenceClaimThreadingStrategy, waitStrategyOption, false);
+    }
+
+    public RingBuffer(final Factory<T> entryFactory, final int size,
+                      final SequenceClaimThreadingStrategy sequenceClaimThreadingStrategy)
+    {
+        this(entryFactory, size, sequenceClaimThreadingStrategy, WaitStrategyOption.BLOCKING);
     }
 
     public RingBuffer(final Factory<T> entryFactory, final int size)
@@ -52,21 +99,194 @@ public final class RingBuffer<T extends Entry> {
     }
 
     /**
-     * Claim the next entry in sequence for use by a producer
+     * Claim the next sequence for use by a producer without touching its entry. The entry is got with
+     * {@link #get(long)} and made available to consumers with {@link #publish(long)} once populated.
+     * @return the claimed sequence
+     */
+    public long next()
+    {
+        return sequenceClaimStrategy.getAndIncrement();
+    }
+
+    /**
+     * Claim a batch of sequences for use by a producer with a single claim on the sequence, to be published
+     * as a whole with {@link #publish(SequenceBatch)}
+     * @param sequenceBatch to be updated with the claimed range of sequences
+     * @return the updated sequenceBatch
+     */
+    public SequenceBatch next(final SequenceBatch sequenceBatch)
+    {
+        final long start = sequenceClaimStrategy.getAndAdd(sequenceBatch.getSize());
+        sequenceBatch.setEnd(start + sequenceBatch.getSize() - 1);
+        return sequenceBatch;
+    }
+
+    /**
+     * Publish a sequence claimed with {@link #next()}, making its entry available to consumers
+     * @param sequence to be published
+     */
+    public void publish(final long sequence)
+    {
+        publish(sequence, sequence);
+    }
+
+    /**
+     * Publish a batch claimed with {@link #next(SequenceBatch)} with a single update of the cursor and
+     * notification of the consumers
+     * @param sequenceBatch to be published
+     */
+    public void publish(final SequenceBatch sequenceBatch)
+    {
+        publish(sequenceBatch.getStart(), sequenceBatch.getEnd());
+    }
+
+    /**
+     * Claim the next sequence as {@link #next()} does, populate its entry with the translator and publish it,
+     * publishing even if the translator throws so the sequence is never left unpublished
+     * @param translator to populate the entry
+     * @return the published sequence
+     */
+    public long publishEvent(final EventTranslator<T> translator)
+    {
+        final long sequence = next();
+        try
+        {
+            translator.translateTo(get(sequence));
+        }
+        finally
+        {
+            publish(sequence);
+        }
+
+        return sequence;
+    }
+
+    /**
+     * Publish with a translator taking arguments, see {@link #publishEvent(EventTranslator)}
+     * @param translator to populate the entry
+     * @param arg0 to translate from
+     * @return the published sequence
+     */
+    public <A> long publishEvent(final EventTranslatorOneArg<T, A> translator, final A arg0)
+    {
+        final long sequence = next();
+        try
+        {
+            translator.translateTo(get(sequence), arg0);
+        }
+        finally
+        {
+            publish(sequence);
+        }
+
+        return sequence;
+    }
+
+    /**
+     * Publish with a translator taking arguments, see {@link #publishEvent(EventTranslator)}
+     * @param translator to populate the entry
+     * @param arg0 first argument to translate from
+     * @param arg1 second argument to translate from
+     * @return the published sequence
+     */
+    public <A, B> long publishEvent(final EventTranslatorTwoArg<T, A, B> translator, final A arg0, final B arg1)
+    {
+        final long sequence = next();
+        try
+        {
+            translator.translateTo(get(sequence), arg0, arg1);
+        }
+        finally
+        {
+            publish(sequence);
+        }
+
+        return sequence;
+    }
+
+    /**
+     * Publish with a translator taking arguments, see {@link #publishEvent(EventTranslator)}
+     * @param translator to populate the entry
+     * @param arg0 first argument to translate from
+     * @param arg1 second argument to translate from
+     * @param arg2 third argument to translate from
+     * @return the published sequence
+     */
+    public <A, B, C> long publishEvent(final EventTranslatorThreeArg<T, A, B, C> translator,
+                                       final A arg0, final B arg1, final C arg2)
+    {
+        final long sequence = next();
+        try
+        {
+            translator.translateTo(get(sequence), arg0, arg1, arg2);
+        }
+        finally
+        {
+            publish(sequence);
+        }
+
+        return sequence;
+    }
+
+    /**
+     * Publish a sequence set explicitly by a single producer rather than claimed with {@link #next()}, moving
+     * both the claimed sequence and the cursor to it
+     * @param sequence to be published
+     */
+    public void forcePublish(final long sequence)
+    {
+        stampCommitTime(sequence, sequence);
+        sequenceClaimStrategy.setSequence(sequence + 1);
+        cursor.set(sequence);
+        waitStrategy.signalAll();
+    }
+
+    /**
+     * Claim the next entry in sequence for use by a producer, to be published with {@link Entry#commit()}
      * @return the next entry in the sequence
+     * @throws ClassCastException if the entries do not implement {@link Entry}
+     * @deprecated use {@link #next()} and {@link #publish(long)}, or an {@link EntryClaimer}
      */
+    @Deprecated
     public T claimNext()
     {
-        long sequence = sequenceClaimStrategy.getAndIncrement();
-        T next = (T)entries[(int) (sequence & ringModMask)];
-        next.setSequence(sequence,appendCallback);
-        return next;
+        return entryToPublish(next());
+    }
+
+    /**
+     * Claim a specific sequence when only one producer is involved, to be published with {@link Entry#commit()}
+     * which sets the cursor to it
+     * @param sequence to be claimed
+     * @return the claimed entry
+     * @throws ClassCastException if the entries do not implement {@link Entry}
+     * @deprecated use {@link #forcePublish(long)}, or an {@link EntryClaimer}
+     */
+    @Deprecated
+    public T claimSequence(final long sequence)
+    {
+        return entryToForcePublish(sequence);
     }
 
-    public T claimSequence(long sequence)
+    /**
+     * Bind the {@link Entry} for a claimed sequence to {@link #publish(long)} on commit
+     */
+    T entryToPublish(final long sequence)
     {
-        T entry = (T) entries[(int) (sequence & ringModMask)];
-        entry.setSequence(sequence,setCallback);
+        return bindEntry(sequence, appendCallback);
+    }
+
+    /**
+     * Bind the {@link Entry} for a sequence to {@link #forcePublish(long)} on commit
+     */
+    T entryToForcePublish(final long sequence)
+    {
+        return bindEntry(sequence, setCallback);
+    }
+
+    private T bindEntry(final long sequence, final CommitCallback commitCallback)
+    {
+        final T entry = get(sequence);
+        ((Entry) entry).setSequence(sequence, commitCallback);
         return entry;
     }
 
@@ -85,6 +305,7 @@ public final class RingBuffer<T extends Entry> {
      * @param sequence for the entry
      * @return entry matching the sequence
      */
+    @SuppressWarnings("unchecked")
     public T get(long sequence)
     {
         return (T) entries[(int) (sequence&ringModMask)];
@@ -104,7 +325,67 @@ public final class RingBuffer<T extends Entry> {
      * @return the current committed sequence
      */
     public long getCursor() {
-        return cursor;
+        return cursor.get();
+    }
+
+    /**
+     * Get the highest sequence that producers have claimed in the RingBuffer, which is ahead of the cursor
+     * while claimed entries are yet to be committed
+     * @return the highest claimed sequence
+     */
+    public long getClaimedSequence() {
+        return sequenceClaimStrategy.getSequence() - 1;
+    }
+
+    /**
+     * Position the RingBuffer so the next claimed sequence follows the given one, setting both the claimed
+     * sequence and the cursor to it, for example to hand over to live publishing after
+     * {@link JournalReplayer#replay(SequencedEventHandler, Object)}.
+     *
+     * Only to be used before anything is claimed, and the {@link EventConsumer}s must be set to the same sequence
+     * with {@link EventConsumer#setSequence(long)} before they are started, which {@link Disruptor#resetTo(long)} does.
+     *
+     * @param sequence to treat as the last published sequence
+     */
+    public void resetTo(final long sequence)
+    {
+        sequenceClaimStrategy.setSequence(sequence + 1);
+        cursor.set(sequence);
+    }
+
+    /**
+     * Check if the RingBuffer records the time each {@link Entry} is committed at
+     * @return true if commit times are recorded
+     */
+    public boolean isStampingCommitTimes() {
+        return null != commitTimes;
+    }
+
+    /**
+     * Get the {@link System#nanoTime()} at which the entry for a sequence was committed, which is valid
+     * until the slot is claimed again on the next lap of the ring
+     * @param sequence of a committed entry
+     * @return the commit time
+     * @throws IllegalStateException if the RingBuffer was not constructed to stamp commit times
+     */
+    public long getCommitTime(final long sequence) {
+        if (null == commitTimes)
+        {
+            throw new IllegalStateException("commit times are not being stamped");
+        }
+        return commitTimes[(int) (sequence & ringModMask)];
+    }
+
+    private void stampCommitTime(final long start, final long end)
+    {
+        if (null != commitTimes)
+        {
+            final long now = System.nanoTime();
+            for (long sequence = start; sequence <= end; sequence++)
+            {
+                commitTimes[(int) (sequence & ringModMask)] = now;
+            }
+        }
     }
 
     private void fill(Factory<T> entryFactory) {
@@ -113,126 +394,100 @@ public final class RingBuffer<T extends Entry> {
         }
     }
 
+    private void publish(final long start, final long end)
+    {
+        if (null == availableBuffer)
+        {
+            commitInOrder(start, end);
+        }
+        else
+        {
+            commitAvailable(start, end);
+        }
+    }
+
     /**
-     * Callback to be used when claiming slots in sequence and cursor is catching up with claim
-     * for notifying the consumers of progress.This will busy spin on the commit until previous
-     * producers have committed lower sequence Entries.
+     * Advance the cursor once previous producers have committed lower sequences, busy spinning until they have
      */
-    final class AppendCommitCallback implements CommitCallback
+    private void commitInOrder(final long start, final long end)
     {
-        @Override
-        public void commit(long sequence) {
-            long slotMinusOne = sequence - 1;
-            while (cursor != slotMinusOne)
+        stampCommitTime(start, end);
+
+        final long startMinusOne = start - 1;
+        while (cursor.get() != startMinusOne)
+        {
+            // busy spin
+        }
+        cursor.set(end);
+        waitStrategy.signalAll();
+    }
+
+    /**
+     * Commit for {@link SequenceClaimThreadingStrategy#MULTI_THREADED_AVAILABILITY}.
+     * Each slot is marked as available with the lap of the ring it was committed in, then the producer advances
+     * the cursor over the contiguous run of available slots. A producer that finds a lower sequence still
+     * uncommitted leaves the cursor to be advanced by the producer of that sequence rather than waiting for it.
+     */
+    private void commitAvailable(final long start, final long end)
+    {
+        stampCommitTime(start, end);
+
+        for (long sequence = start; sequence <= end; sequence++)
+        {
+            availableBuffer.set((int) (sequence & ringModMask), (int) (sequence >>> indexShift));
+        }
+
+        long current = cursor.get();
+        while (current < end)
+        {
+            long highest = current;
+            while (isAvailable(highest + 1))
             {
-                // busy spin
+                highest++;
             }
-            cursor = sequence;
-            notifyConsumer();
+
+            if (highest == current)
+            {
+                return;
+            }
+
+            if (cursor.compareAndSet(current, highest))
+            {
+                waitStrategy.signalAll();
+                return;
+            }
+            current = cursor.get();
         }
     }
 
-    private void notifyConsumer() {
-        lock.lock();
-        consumerNotifyCondition.signalAll();
-        lock.unlock();
+    private boolean isAvailable(final long sequence)
+    {
+        return availableBuffer.get((int) (sequence & ringModMask)) == (int) (sequence >>> indexShift);
     }
 
     /**
      * Barrier handed out for gating consumers of the RingBuffer and dependent {@link EventConsumer}(s)
      */
-    final class RingBufferThresholdBarrier implements ThresholdBarrier
+    final class RingBufferThresholdBarrier implements ThresholdBarrier<T>
     {
-       private final EventConsumer[] eventConsumers;
-       private final boolean hasGatingEventProcessors;
+       private volatile EventConsumer[] eventConsumers;
 
        private volatile boolean alerted = false;
 
        public RingBufferThresholdBarrier(EventConsumer... eventConsumers)
        {
            this.eventConsumers = eventConsumers;
-           hasGatingEventProcessors = eventConsumers.length !=0;
        }
 
 
         @Override
         public long waitFor(long sequence) throws InterruptedException, AlertException {
-           if (hasGatingEventProcessors)
-           {
-               long completedProcessedEventSequence = getProcessedEventSequence();
-               if (completedProcessedEventSequence >= sequence)
-               {
-                   return completedProcessedEventSequence;
-               }
-               waitForRingBuffer(sequence);
-
-               while ((completedProcessedEventSequence = getProcessedEventSequence()) < sequence)
-               {
-                   checkForAlert();
-               }
-               return completedProcessedEventSequence;
-           }
-            return waitForRingBuffer(sequence);
-        }
-
-        private long waitForRingBuffer(long sequence) throws InterruptedException, AlertException {
-            if (cursor < sequence)
-            {
-                lock.lock();
-                try {
-                    while (cursor < sequence)
-                    {
-                        checkForAlert();
-                        consumerNotifyCondition.await();
-                    }
-                }
-                finally {
-                    lock.unlock();
-                }
-            }
-            return cursor;
-        }
-
-        private long waitForRingBuffer(long sequence, long timeout,TimeUnit units) throws AlertException, InterruptedException {
-            if(cursor < sequence)
-            {
-                lock.lock();
-                try
-                {
-                    while (cursor < sequence)
-                    {
-                        checkForAlert();
-                        if(!consumerNotifyCondition.await(timeout,units))
-                        {
-                            break;
-                        }
-                    }
-                }
-                finally {
-                    lock.unlock();
-                }
-            }
-            return cursor;
+            return waitStrategy.waitFor(eventConsumers, RingBuffer.this, this, sequence);
         }
 
         @Override
         public long waitFor(long sequence, long timeout, TimeUnit units) throws InterruptedException, AlertException {
-           if(hasGatingEventProcessors)
-           {
-               long completedProcessedEventSequence = getProcessedEventSequence();
-               if(completedProcessedEventSequence >= sequence)
-               {
-                   return completedProcessedEventSequence;
-               }
-               waitForRingBuffer(sequence,timeout,units);
-
-               while((completedProcessedEventSequence = getProcessedEventSequence()) < sequence)
-               {
-                   checkForAlert();
-               }
-               return completedProcessedEventSequence;
-           }
-            return waitForRingBuffer(sequence,timeout,units);
+            return waitStrategy.waitFor(eventConsumers, RingBuffer.this, this, sequence, timeout, units);
         }
 
         @Override
@@ -248,18 +503,28 @@ public final class RingBuffer<T extends Entry> {
         @Override
         public void alert() {
            alerted = true;
-           notifyConsumer();
+           waitStrategy.signalAll();
         }
 
 
         @Override
-        public RingBuffer getRingBuffer() {
+        public RingBuffer<T> getRingBuffer() {
            return RingBuffer.this;
         }
 
+        @Override
+        public void addEventConsumers(final EventConsumer... eventConsumers) {
+           EventConsumerGroups.addEventConsumers(this, BARRIER_CONSUMERS_UPDATER, RingBuffer.this, eventConsumers);
+        }
+
+        @Override
+        public boolean removeEventConsumer(final EventConsumer eventConsumer) {
+           return EventConsumerGroups.removeEventConsumer(this, BARRIER_CONSUMERS_UPDATER, eventConsumer);
+        }
+
         @Override
         public long getProcessedEventSequence() {
-           long minimum = cursor;
+           long minimum = cursor.get();
            for(EventConsumer eventConsumer: eventConsumers)
            {
                long sequence = eventConsumer.getSequence();
@@ -268,19 +533,5 @@ public final class RingBuffer<T extends Entry> {
            return minimum;
         }
     }
-
-    /**
-     * Callback to be used when claiming slots and the cursor is explicitly set by the producer when
-     * you are sure only one producer exists
-     */
-    final class SetCommitCallback implements CommitCallback
-    {
-        @Override
-        public void commit(long sequence) {
-            sequenceClaimStrategy.setSequence(sequence + 1);
-            cursor = sequence;
-            notifyConsumer();
-        }
-    }
 }
 
@@ -0,0 +1,158 @@
+package org.garry.disruptor_clone;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pollable snapshot of the state of a {@link RingBuffer} and the {@link EventConsumer}s processing it,
+ * which can also be registered as MBeans.
+ *
+ * Nothing is measured on the producer or consumer threads: lag and occupancy are calculated from the sequences
+ * when polled. {@link Histogram}s recorded by instrumented {@link BatchEventConsumer}s and {@link AbstractSlotClaimer}s
+ * can be added so they are registered alongside.
+ */
+public final class RingBufferMetrics implements RingBufferMetricsMBean {
+
+    private final RingBuffer<?> ringBuffer;
+    private final Map<String, EventConsumer> eventConsumers = new LinkedHashMap<>();
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final List<ObjectName> registeredNames = new ArrayList<>();
+
+    public RingBufferMetrics(final RingBuffer<?> ringBuffer)
+    {
+        this.ringBuffer = ringBuffer;
+    }
+
+    /**
+     * Add an {@link EventConsumer} whose lag behind the cursor should be reported
+     * @param name of the consumer
+     * @param eventConsumer to be reported
+     * @return this for chaining
+     */
+    public synchronized RingBufferMetrics addEventConsumer(final String name, final EventConsumer eventConsumer)
+    {
+        eventConsumers.put(name, eventConsumer);
+        return this;
+    }
+
+    /**
+     * Add a {@link Histogram} to be registered with these metrics
+     * @param name of the histogram
+     * @param histogram to be registered
+     * @return this for chaining
+     */
+    public synchronized RingBufferMetrics addHistogram(final String name, final Histogram histogram)
+    {
+        histograms.put(name, histogram);
+        return this;
+    }
+
+    @Override
+    public int getCapacity()
+    {
+        return ringBuffer.getCapacity();
+    }
+
+    @Override
+    public long getCursor()
+    {
+        return ringBuffer.getCursor();
+    }
+
+    @Override
+    public long getClaimedSequence()
+    {
+        return ringBuffer.getClaimedSequence();
+    }
+
+    /**
+     * Get the number of slots claimed by producers and not yet released by the slowest consumer
+     * @return the occupied slots, or 0 if no consumers have been added
+     */
+    @Override
+    public synchronized long getOccupancy()
+    {
+        if (eventConsumers.isEmpty())
+        {
+            return 0L;
+        }
+
+        final long minimum = Util.getMinimumSequence(eventConsumers.values().toArray(new EventConsumer[0]));
+        return ringBuffer.getClaimedSequence() - minimum;
+    }
+
+    @Override
+    public synchronized String[] getEventConsumerNames()
+    {
+        return eventConsumers.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Get how far each consumer is behind the cursor, in the order of {@link #getEventConsumerNames()}
+     * @return the lag of each consumer
+     */
+    @Override
+    public synchronized long[] getEventConsumerLags()
+    {
+        final long cursor = ringBuffer.getCursor();
+        final long[] lags = new long[eventConsumers.size()];
+
+        int i = 0;
+        for (EventConsumer eventConsumer : eventConsumers.values())
+        {
+            lags[i++] = cursor - eventConsumer.getSequence();
+        }
+
+        return lags;
+    }
+
+    /**
+     * Get a {@link Histogram} added to these metrics
+     * @param name of the histogram
+     * @return the histogram or null if none was added with the name
+     */
+    public synchronized Histogram getHistogram(final String name)
+    {
+        return histograms.get(name);
+    }
+
+    /**
+     * Register these metrics and their histograms as MBeans under the given domain
+     * @param mBeanServer to register with
+     * @param domain for the object names
+     * @throws JMException if registration fails
+     */
+    public synchronized void register(final MBeanServer mBeanServer, final String domain) throws JMException
+    {
+        final ObjectName ringBufferName = new ObjectName(domain + ":type=RingBuffer");
+        mBeanServer.registerMBean(this, ringBufferName);
+        registeredNames.add(ringBufferName);
+
+        for (Map.Entry<String, Histogram> histogram : histograms.entrySet())
+        {
+            final ObjectName histogramName =
+                new ObjectName(domain + ":type=Histogram,name=" + ObjectName.quote(histogram.getKey()));
+            mBeanServer.registerMBean(histogram.getValue(), histogramName);
+            registeredNames.add(histogramName);
+        }
+    }
+
+    /**
+     * Unregister all the MBeans previously registered
+     * @param mBeanServer they were registered with
+     * @throws JMException if unregistration fails
+     */
+    public synchronized void unregister(final MBeanServer mBeanServer) throws JMException
+    {
+        for (ObjectName name : registeredNames)
+        {
+            mBeanServer.unregisterMBean(name);
+        }
+        registeredNames.clear();
+    }
+}
@@ -0,0 +1,19 @@
+package org.garry.disruptor_clone;
+
+/**
+ * JMX view of {@link RingBufferMetrics}
+ */
+public interface RingBufferMetricsMBean {
+
+    int getCapacity();
+
+    long getCursor();
+
+    long getClaimedSequence();
+
+    long getOccupancy();
+
+    String[] getEventConsumerNames();
+
+    long[] getEventConsumerLags();
+}
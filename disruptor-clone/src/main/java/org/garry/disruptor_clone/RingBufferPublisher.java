@@ -0,0 +1,235 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link EventConsumer} that exposes the entries it consumes from a {@link RingBuffer} as a {@link Flow.Publisher}
+ * to a single {@link Flow.Subscriber}.
+ *
+ * The consumer only advances as far as the subscriber has demand for, handing over each run of available entries
+ * up to that demand as a batch before updating its sequence once. Without demand it parks rather than consuming,
+ * so when it gates producers a slow subscriber holds the producers back instead of items being queued.
+ *
+ * Entries are passed to {@link Flow.Subscriber#onNext(Object)} in place, so a subscriber that needs an entry after
+ * onNext returns must copy it, as the slot is reused once the consumer has moved past it.
+ *
+ * All signals to the subscriber come from the consumer thread, which calls onComplete when halted. Cancelling the
+ * subscription stops the consumer in the same way, so it should then no longer be gating producers. The barrier may
+ * be shared, so the consumer waits on it with a timeout to notice cancellation rather than alerting it. If onNext
+ * throws, the subscription is cancelled and the exception is signalled to onError.
+ *
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ */
+public final class RingBufferPublisher<T> implements EventConsumer, Flow.Publisher<T> {
+
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    private final Sequence sequence = new Sequence(RingBuffer.INITIAL_CURSOR_VALUE);
+    private volatile boolean running = true;
+
+    private final ThresholdBarrier<T> barrier;
+    private final AtomicLong demand = new AtomicLong();
+    private EventExceptionHandler eventExceptionHandler = new FatalEventExceptionHandler();
+
+    private volatile Flow.Subscriber<? super T> subscriber;
+    private volatile Thread consumerThread;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+
+    /**
+     * @param barrier on which to wait for entries
+     */
+    public RingBufferPublisher(final ThresholdBarrier<T> barrier)
+    {
+        this.barrier = barrier;
+    }
+
+    public void setEventExceptionHandler(final EventExceptionHandler eventExceptionHandler)
+    {
+        if (null == eventExceptionHandler)
+        {
+            throw new NullPointerException();
+        }
+        this.eventExceptionHandler = eventExceptionHandler;
+    }
+
+    @Override
+    public synchronized void subscribe(final Flow.Subscriber<? super T> subscriber)
+    {
+        if (null == subscriber)
+        {
+            throw new NullPointerException();
+        }
+
+        if (null != this.subscriber)
+        {
+            subscriber.onSubscribe(new CancelledSubscription());
+            subscriber.onError(new IllegalStateException("RingBufferPublisher supports a single subscriber"));
+            return;
+        }
+
+        this.subscriber = subscriber;
+        subscriber.onSubscribe(new ConsumerSubscription());
+    }
+
+    @Override
+    public long getSequence()
+    {
+        return sequence.get();
+    }
+
+    @Override
+    public void setSequence(final long sequence)
+    {
+        this.sequence.set(sequence);
+    }
+
+    /**
+     * Get the demand from the subscriber not yet satisfied
+     * @return the outstanding demand
+     */
+    public long getDemand()
+    {
+        return demand.get();
+    }
+
+    @Override
+    public void halt()
+    {
+        running = false;
+        barrier.alert();
+        LockSupport.unpark(consumerThread);
+    }
+
+    @Override
+    public ThresholdBarrier<T> getBarrier()
+    {
+        return barrier;
+    }
+
+    @Override
+    public void run()
+    {
+        T entry = null;
+        final Thread thisThread = Thread.currentThread();
+        consumerThread = thisThread;
+
+        while (running && !cancelled && !thisThread.isInterrupted())
+        {
+            try
+            {
+                final long requested = demand.get();
+                final Flow.Subscriber<? super T> subscriber = this.subscriber;
+                if (0L == requested || null == subscriber)
+                {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                    continue;
+                }
+
+                final long nextSequence = sequence.get() + 1L;
+                final long availableSequence = barrier.waitFor(nextSequence, PARK_NANOS, TimeUnit.NANOSECONDS);
+                if (availableSequence < nextSequence)
+                {
+                    continue;
+                }
+                long endSequence = availableSequence - nextSequence < requested ?
+                        availableSequence : nextSequence + requested - 1L;
+
+                for (long i = nextSequence; i <= endSequence && !cancelled; i++)
+                {
+                    entry = barrier.getRingBuffer().get(i);
+                    try
+                    {
+                        subscriber.onNext(entry);
+                    }
+                    catch (final Exception ex)
+                    {
+                        // a throwing subscriber is treated as having cancelled, and is told why
+                        error = ex;
+                        cancelled = true;
+                        endSequence = i;
+                    }
+                }
+
+                sequence.set(endSequence);
+                if (Long.MAX_VALUE != requested)
+                {
+                    demand.addAndGet(nextSequence - endSequence - 1L);
+                }
+            }
+            catch (final AlertException ex)
+            {
+                // Wake up from blocking wait and check if we should continue to run
+            }
+            catch (final Exception ex)
+            {
+                eventExceptionHandler.handleEvent(ex, entry);
+            }
+        }
+
+        final Flow.Subscriber<? super T> subscriber = this.subscriber;
+        if (null != subscriber && null != error)
+        {
+            subscriber.onError(error);
+        }
+        else if (null != subscriber && !cancelled)
+        {
+            subscriber.onComplete();
+        }
+    }
+
+    private final class ConsumerSubscription implements Flow.Subscription
+    {
+        @Override
+        public void request(final long n)
+        {
+            if (n <= 0L)
+            {
+                error = new IllegalArgumentException("non-positive request: " + n);
+                cancel();
+                return;
+            }
+
+            long current;
+            long next;
+            do
+            {
+                current = demand.get();
+                next = current + n;
+                if (next < 0L)
+                {
+                    next = Long.MAX_VALUE;
+                }
+            }
+            while (!demand.compareAndSet(current, next));
+
+            if (0L == current)
+            {
+                LockSupport.unpark(consumerThread);
+            }
+        }
+
+        @Override
+        public void cancel()
+        {
+            cancelled = true;
+            LockSupport.unpark(consumerThread);
+        }
+    }
+
+    private static final class CancelledSubscription implements Flow.Subscription
+    {
+        @Override
+        public void request(final long n)
+        {
+        }
+
+        @Override
+        public void cancel()
+        {
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Flow.Subscriber} that publishes each item it receives into a {@link RingBuffer} through a {@link SlotClaimer},
+ * so a reactive source can feed the ring without a thread blocking in a claim.
+ *
+ * Demand is only ever requested for the free capacity reported by {@link SlotClaimer#remainingCapacity()}, which means
+ * items arrive only when there are slots for them and backpressure from the gating {@link EventConsumer}s reaches the
+ * upstream publisher. Demand is topped up as items arrive, and when the ring has filled up it is topped up again as
+ * consumers make progress. Given the gating {@link BatchEventConsumer}s, the subscriber adds an end of batch hook to
+ * each of them that calls {@link #replenish()}, and removes the hooks once it is done. Otherwise {@link #replenish()}
+ * must be called once consumers have made progress, for example from {@link EventHandler#onEndOfBatch()}.
+ *
+ * The subscriber should be the only producer on the {@link RingBuffer}, otherwise other producers can take the slots
+ * it requested and {@link #onNext(Object)} will have to wait for capacity.
+ *
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ * @param <I> type of the items received
+ */
+public final class RingBufferSubscriber<T, I> implements Flow.Subscriber<I> {
+
+    private final SlotClaimer<T> slotClaimer;
+    private final EventTranslatorOneArg<T, I> translator;
+    private final long replenishThreshold;
+    private final BatchEventConsumer<?>[] gatingEventConsumers;
+    private final Runnable replenishHook = this::replenish;
+
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicInteger replenishing = new AtomicInteger();
+    private volatile Flow.Subscription subscription;
+    private volatile boolean done;
+
+    /**
+     * @param slotClaimer for claiming slots in the {@link RingBuffer} and finding its free capacity
+     * @param translator to populate an entry from each item
+     */
+    public RingBufferSubscriber(final SlotClaimer<T> slotClaimer, final EventTranslatorOneArg<T, I> translator)
+    {
+        this(slotClaimer, translator, new BatchEventConsumer<?>[0]);
+    }
+
+    /**
+     * @param slotClaimer for claiming slots in the {@link RingBuffer} and finding its free capacity
+     * @param translator to populate an entry from each item
+     * @param gatingEventConsumers gating the slotClaimer, whose progress replenishes demand once the ring is full
+     */
+    public RingBufferSubscriber(final SlotClaimer<T> slotClaimer, final EventTranslatorOneArg<T, I> translator,
+                                final BatchEventConsumer<?>... gatingEventConsumers)
+    {
+        if (null == slotClaimer || null == translator)
+        {
+            throw new NullPointerException();
+        }
+        this.slotClaimer = slotClaimer;
+        this.translator = translator;
+        this.replenishThreshold = slotClaimer.getRingBuffer().getCapacity() / 2;
+        this.gatingEventConsumers = gatingEventConsumers.clone();
+
+        for (BatchEventConsumer<?> eventConsumer : this.gatingEventConsumers)
+        {
+            eventConsumer.addEndOfBatchHook(replenishHook);
+        }
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription)
+    {
+        if (null == subscription)
+        {
+            throw new NullPointerException();
+        }
+
+        if (null != this.subscription || done)
+        {
+            subscription.cancel();
+            return;
+        }
+
+        this.subscription = subscription;
+        replenish();
+    }
+
+    @Override
+    public void onNext(final I item)
+    {
+        if (null == item)
+        {
+            throw new NullPointerException();
+        }
+
+        slotClaimer.publishEvent(translator, item);
+
+        if (outstanding.decrementAndGet() <= replenishThreshold)
+        {
+            replenish();
+        }
+    }
+
+    @Override
+    public void onError(final Throwable throwable)
+    {
+        finish();
+    }
+
+    @Override
+    public void onComplete()
+    {
+        finish();
+    }
+
+    /**
+     * Request as many more items as the {@link RingBuffer} has free capacity for, beyond those already requested.
+     * Safe to call from any thread, concurrent calls are folded into one so requests on the subscription stay serial.
+     */
+    public void replenish()
+    {
+        if (0 != replenishing.getAndIncrement())
+        {
+            return;
+        }
+
+        int missed = 1;
+        do
+        {
+            final Flow.Subscription subscription = this.subscription;
+            if (null != subscription && !done)
+            {
+                // outstanding is read first as items are published before it is decremented, so a racing
+                // onNext can only make the demand an underestimate, never request more than there are slots for
+                final long requested = outstanding.get();
+                final long demand = slotClaimer.remainingCapacity() - requested;
+                if (demand > 0L)
+                {
+                    outstanding.addAndGet(demand);
+                    subscription.request(demand);
+                }
+            }
+            missed = replenishing.addAndGet(-missed);
+        }
+        while (0 != missed);
+    }
+
+    /**
+     * Stop receiving items by cancelling the subscription
+     */
+    public void cancel()
+    {
+        finish();
+        final Flow.Subscription subscription = this.subscription;
+        if (null != subscription)
+        {
+            subscription.cancel();
+        }
+    }
+
+    private void finish()
+    {
+        done = true;
+        for (BatchEventConsumer<?> eventConsumer : gatingEventConsumers)
+        {
+            eventConsumer.removeEndOfBatchHook(replenishHook);
+        }
+    }
+
+    /**
+     * Check if the upstream publisher has completed, failed or been cancelled
+     * @return true if no more items will be received
+     */
+    public boolean isDone()
+    {
+        return done;
+    }
+
+    /**
+     * Get the number of items requested but not yet received
+     * @return the outstanding demand
+     */
+    public long getOutstanding()
+    {
+        return outstanding.get();
+    }
+}
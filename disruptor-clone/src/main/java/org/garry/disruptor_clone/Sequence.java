@@ -0,0 +1,110 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+class LhsPadding
+{
+    protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+class Value extends LhsPadding
+{
+    static final AtomicLongFieldUpdater<Value> VALUE_UPDATER = AtomicLongFieldUpdater.newUpdater(Value.class, "value");
+
+    protected volatile long value;
+}
+
+class RhsPadding extends Value
+{
+    protected long p9, p10, p11, p12, p13, p14, p15;
+}
+
+/**
+ * Concurrent sequence for tracking the progress of producers and consumers of a {@link RingBuffer}
+ *
+ * The value is padded on both sides so that it has a cache line to itself and can never be falsely shared
+ * with other hot fields, see the FalseSharing test for the effect this has.
+ */
+public class Sequence extends RhsPadding {
+
+    /**
+     * Create a sequence starting at {@link RingBuffer#INITIAL_CURSOR_VALUE}
+     */
+    public Sequence()
+    {
+        this(RingBuffer.INITIAL_CURSOR_VALUE);
+    }
+
+    /**
+     * Create a sequence starting at the given value
+     * @param initialValue for the sequence
+     */
+    public Sequence(final long initialValue)
+    {
+        VALUE_UPDATER.lazySet(this, initialValue);
+    }
+
+    /**
+     * Volatile read of the sequence
+     * @return the current value of the sequence
+     */
+    public long get()
+    {
+        return value;
+    }
+
+    /**
+     * Volatile write of the sequence, which is ordered with any subsequent volatile read
+     * @param value to be set
+     */
+    public void set(final long value)
+    {
+        this.value = value;
+    }
+
+    /**
+     * Release write of the sequence, which is cheaper than {@link #set(long)} as it does not wait for the store
+     * to become visible before later loads by the same thread
+     * @param value to be set
+     */
+    public void lazySet(final long value)
+    {
+        VALUE_UPDATER.lazySet(this, value);
+    }
+
+    /**
+     * Atomically set the sequence to the given value if it currently holds the expected value
+     * @param expectedValue the sequence must currently hold
+     * @param newValue to be set
+     * @return true if successful
+     */
+    public boolean compareAndSet(final long expectedValue, final long newValue)
+    {
+        return VALUE_UPDATER.compareAndSet(this, expectedValue, newValue);
+    }
+
+    /**
+     * Atomically increment the sequence by one
+     * @return the value after the increment
+     */
+    public long incrementAndGet()
+    {
+        return VALUE_UPDATER.incrementAndGet(this);
+    }
+
+    /**
+     * Atomically add the given delta to the sequence
+     * @param delta to be added
+     * @return the value after the addition
+     */
+    public long addAndGet(final long delta)
+    {
+        return VALUE_UPDATER.addAndGet(this, delta);
+    }
+
+    @Override
+    public String toString()
+    {
+        return Long.toString(get());
+    }
+}
@@ -0,0 +1,57 @@
+package org.garry.disruptor_clone;
+
+/**
+ * Range of contiguous sequences claimed as a batch in a {@link RingBuffer}
+ *
+ * Producers should hold on to an instance and reuse it for each batch to avoid generating garbage
+ */
+public final class SequenceBatch {
+
+    private final int size;
+    private long end = RingBuffer.INITIAL_CURSOR_VALUE;
+
+    /**
+     * Create a holder for batches of the given size
+     * @param size of each batch to be claimed
+     */
+    public SequenceBatch(final int size)
+    {
+        if (size < 1)
+        {
+            throw new IllegalArgumentException("size must be greater than 0");
+        }
+        this.size = size;
+    }
+
+    /**
+     * Get the first sequence in the batch
+     * @return the first sequence of the batch
+     */
+    public long getStart()
+    {
+        return end - (size - 1L);
+    }
+
+    /**
+     * Get the last sequence in the batch
+     * @return the last sequence of the batch
+     */
+    public long getEnd()
+    {
+        return end;
+    }
+
+    /**
+     * Get the number of sequences in the batch
+     * @return the size of the batch
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    void setEnd(final long end)
+    {
+        this.end = end;
+    }
+}
@@ -4,5 +4,9 @@ public interface SequenceClaimStrategy {
 
     long getAndIncrement();
 
+    long getAndAdd(int delta);
+
     void setSequence(long sequence);
+
+    long getSequence();
 }
@@ -9,6 +9,17 @@ public enum SequenceClaimThreadingStrategy {
                     return new MultiThreadedSequenceClaimStrategy();
                 }
             },
+    /**
+     * Multiple producers that commit out of order by marking each slot as available, so a producer never
+     * waits for another producer to commit a lower sequence
+     */
+    MULTI_THREADED_AVAILABILITY
+            {
+                @Override
+                public SequenceClaimStrategy newInstance() {
+                    return new MultiThreadedSequenceClaimStrategy();
+                }
+            },
     SINGLE_THREAD
             {
                 @Override
@@ -0,0 +1,20 @@
+package org.garry.disruptor_clone;
+
+/**
+ * Callback for a {@link BatchEventConsumer} that is also given the sequence of each entry, for handlers of entries
+ * that do not carry their own sequence. An {@link EventHandler} is a SequencedEventHandler that ignores it.
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ */
+public interface SequencedEventHandler<T> {
+
+    /**
+     * Called for each entry in sequence as it becomes available
+     * @param entry committed to the {@link RingBuffer}
+     * @param sequence of the entry
+     */
+    void onEvent(T entry, long sequence);
+
+    void onEndOfBatch();
+
+    void onCompletion();
+}
@@ -0,0 +1,11 @@
+package org.garry.disruptor_clone;
+
+/**
+ * {@link SequencedEventHandler} that reports its own progress to the {@link BatchEventConsumer}, like a
+ * {@link ProgressReportingEventHandler} that is also given the sequence of each entry
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ */
+public interface SequencedProgressReportingEventHandler<T> extends SequencedEventHandler<T> {
+
+    void setProgressTracker(final BatchEventConsumer<?>.ProgressTrackerCallback progressTrackerCallback);
+}
@@ -0,0 +1,15 @@
+package org.garry.disruptor_clone;
+
+/**
+ * Callback to declare the graph of {@link EventConsumer}s for each shard of a {@link ShardedRingBuffer}
+ * @param <T> type of the entries stored in the {@link RingBuffer}s
+ */
+public interface ShardInitializer<T> {
+
+    /**
+     * Declare the consumers of a shard, which must not be started here
+     * @param shard index of the shard
+     * @param disruptor for the shard
+     */
+    void initialize(int shard, Disruptor<T> disruptor);
+}
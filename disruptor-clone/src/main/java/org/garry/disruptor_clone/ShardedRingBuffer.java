@@ -0,0 +1,233 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Facade over independent {@link RingBuffer}s, each with its own graph of {@link EventConsumer}s, that routes
+ * every event to a shard by the hash of its key.
+ *
+ * A single ring serialises all its producers on one claim sequence and one cursor, so spreading producers over
+ * shards lets throughput grow with the number of shards. Events with equal keys always go to the same shard, which
+ * keeps them in publishing order for the consumers of that shard, but there is no ordering across shards.
+ *
+ * The consumers of every shard must be declared before {@link #start()}, after which producers publish through
+ * the publishEvent methods or the {@link SlotClaimer} of a shard.
+ *
+ * @param <T> type of the entries stored in the {@link RingBuffer}s
+ */
+public final class ShardedRingBuffer<T> {
+
+    private final Disruptor<T>[] disruptors;
+    private final int bufferReserveThreshold;
+    private volatile SlotClaimer<T>[] slotClaimers;
+
+    /**
+     * Create a shard for each ring with multi threaded claiming, declaring its consumers with the initializer
+     * @param shards number of shards
+     * @param bufferReserveThreshold number of slots to keep in reserve on each shard for racing producers, which
+     *                               must be at least the number of producers that may publish to a shard at once
+     * @param entryFactory to create {@link Entry}s for filling each {@link RingBuffer}
+     * @param size of each {@link RingBuffer} that will be rounded up to the next power of 2
+     * @param executor to run a thread for each {@link EventConsumer} of every shard
+     * @param waitStrategyOption waiting strategy employed by consumers of every shard
+     * @param initializer to declare the consumers of each shard
+     */
+    @SuppressWarnings("unchecked")
+    public ShardedRingBuffer(final int shards, final int bufferReserveThreshold,
+                             final Factory<T> entryFactory, final int size,
+                             final Executor executor, final WaitStrategyOption waitStrategyOption,
+                             final ShardInitializer<T> initializer)
+    {
+        if (shards < 1)
+        {
+            throw new IllegalArgumentException("shards must be at least 1");
+        }
+        if (bufferReserveThreshold < 1)
+        {
+            throw new IllegalArgumentException("bufferReserveThreshold must be at least 1 for multi threaded claiming");
+        }
+
+        disruptors = (Disruptor<T>[]) new Disruptor<?>[shards];
+        for (int i = 0; i < shards; i++)
+        {
+            disruptors[i] = new Disruptor<>(entryFactory, size, executor,
+                                            SequenceClaimThreadingStrategy.MULTI_THREADED, waitStrategyOption);
+            initializer.initialize(i, disruptors[i]);
+        }
+        this.bufferReserveThreshold = bufferReserveThreshold;
+    }
+
+    /**
+     * Shard over Disruptors whose consumers have been declared but which have not been started
+     * @param bufferReserveThreshold number of slots to keep in reserve for racing producers on each shard, which
+     *                               may only be 0 when a single producer publishes to each shard
+     * @param disruptors one for each shard
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // the copy is never handed out, so no other type can be stored in it
+    public ShardedRingBuffer(final int bufferReserveThreshold, final Disruptor<T>... disruptors)
+    {
+        if (0 == disruptors.length)
+        {
+            throw new IllegalArgumentException("there must be at least 1 shard");
+        }
+
+        this.disruptors = disruptors.clone();
+        this.bufferReserveThreshold = bufferReserveThreshold;
+    }
+
+    /**
+     * Start the consumers of every shard and create the {@link SlotClaimer}s producers publish through
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void start()
+    {
+        if (null != slotClaimers)
+        {
+            throw new IllegalStateException("ShardedRingBuffer has already been started");
+        }
+
+        final SlotClaimer<T>[] claimers = (SlotClaimer<T>[]) new SlotClaimer<?>[disruptors.length];
+        for (int i = 0; i < disruptors.length; i++)
+        {
+            claimers[i] = disruptors[i].start(bufferReserveThreshold);
+        }
+        slotClaimers = claimers;
+    }
+
+    /**
+     * Halt the consumers of every shard at their next clean break
+     */
+    public void halt()
+    {
+        for (Disruptor<T> disruptor : disruptors)
+        {
+            disruptor.halt();
+        }
+    }
+
+    /**
+     * Drain and stop the consumers of every shard, see {@link Disruptor#shutdown()}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void shutdown() throws InterruptedException
+    {
+        for (Disruptor<T> disruptor : disruptors)
+        {
+            disruptor.shutdown();
+        }
+    }
+
+    /**
+     * Get the shard an event with the given key is routed to
+     * @param key of the event
+     * @return index of the shard
+     */
+    public int getShard(final Object key)
+    {
+        final int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), disruptors.length);
+    }
+
+    public int getShardCount()
+    {
+        return disruptors.length;
+    }
+
+    public Disruptor<T> getDisruptor(final int shard)
+    {
+        return disruptors[shard];
+    }
+
+    /**
+     * Get the {@link SlotClaimer} for publishing to a shard
+     * @param shard index of the shard
+     * @return the claimer
+     * @throws IllegalStateException if not yet started
+     */
+    public SlotClaimer<T> getSlotClaimer(final int shard)
+    {
+        final SlotClaimer<T>[] claimers = slotClaimers;
+        if (null == claimers)
+        {
+            throw new IllegalStateException("ShardedRingBuffer has not been started");
+        }
+
+        return claimers[shard];
+    }
+
+    /**
+     * Publish to the shard for the key, see {@link SlotClaimer#publishEvent(EventTranslator)}
+     * @param key to route by
+     * @param translator to populate the entry
+     * @return the published sequence within the shard
+     */
+    public long publishEvent(final Object key, final EventTranslator<T> translator)
+    {
+        return getSlotClaimer(getShard(key)).publishEvent(translator);
+    }
+
+    /**
+     * Publish to the shard for the key, see {@link SlotClaimer#publishEvent(EventTranslatorOneArg, Object)}
+     * @param key to route by
+     * @param translator to populate the entry
+     * @param arg0 to translate from
+     * @return the published sequence within the shard
+     */
+    public <A> long publishEvent(final Object key, final EventTranslatorOneArg<T, A> translator, final A arg0)
+    {
+        return getSlotClaimer(getShard(key)).publishEvent(translator, arg0);
+    }
+
+    /**
+     * Publish to the shard for the key, see {@link SlotClaimer#publishEvent(EventTranslatorTwoArg, Object, Object)}
+     * @param key to route by
+     * @param translator to populate the entry
+     * @param arg0 first argument to translate from
+     * @param arg1 second argument to translate from
+     * @return the published sequence within the shard
+     */
+    public <A, B> long publishEvent(final Object key, final EventTranslatorTwoArg<T, A, B> translator,
+                                    final A arg0, final B arg1)
+    {
+        return getSlotClaimer(getShard(key)).publishEvent(translator, arg0, arg1);
+    }
+
+    /**
+     * Publish to the shard for the key,
+     * see {@link SlotClaimer#publishEvent(EventTranslatorThreeArg, Object, Object, Object)}
+     * @param key to route by
+     * @param translator to populate the entry
+     * @param arg0 first argument to translate from
+     * @param arg1 second argument to translate from
+     * @param arg2 third argument to translate from
+     * @return the published sequence within the shard
+     */
+    public <A, B, C> long publishEvent(final Object key, final EventTranslatorThreeArg<T, A, B, C> translator,
+                                       final A arg0, final B arg1, final C arg2)
+    {
+        return getSlotClaimer(getShard(key)).publishEvent(translator, arg0, arg1, arg2);
+    }
+
+    /**
+     * Create metrics across all shards, reporting the lag of the gating consumers of each shard.
+     * The consumers of every shard must have been declared.
+     * @return the metrics
+     */
+    public ShardedRingBufferMetrics createMetrics()
+    {
+        final RingBufferMetrics[] shardMetrics = new RingBufferMetrics[disruptors.length];
+        for (int i = 0; i < disruptors.length; i++)
+        {
+            shardMetrics[i] = new RingBufferMetrics(disruptors[i].getRingBuffer());
+
+            final EventConsumer[] gatingEventConsumers = disruptors[i].getGatingEventConsumers();
+            for (int j = 0; j < gatingEventConsumers.length; j++)
+            {
+                shardMetrics[i].addEventConsumer("gating-" + j, gatingEventConsumers[j]);
+            }
+        }
+
+        return new ShardedRingBufferMetrics(shardMetrics);
+    }
+}
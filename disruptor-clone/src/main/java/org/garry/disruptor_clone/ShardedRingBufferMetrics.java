@@ -0,0 +1,145 @@
+package org.garry.disruptor_clone;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Aggregate of the {@link RingBufferMetrics} of every shard of a {@link ShardedRingBuffer}, which can also be
+ * registered as MBeans along with the metrics of each shard.
+ *
+ * Like {@link RingBufferMetrics} everything is calculated from the sequences when polled, so the totals are not
+ * an atomic snapshot across shards.
+ */
+public final class ShardedRingBufferMetrics implements ShardedRingBufferMetricsMBean {
+
+    private final RingBufferMetrics[] shardMetrics;
+    private ObjectName registeredName;
+
+    /**
+     * @param shardMetrics one for each shard
+     */
+    public ShardedRingBufferMetrics(final RingBufferMetrics... shardMetrics)
+    {
+        this.shardMetrics = shardMetrics.clone();
+    }
+
+    public RingBufferMetrics getShardMetrics(final int shard)
+    {
+        return shardMetrics[shard];
+    }
+
+    @Override
+    public int getShardCount()
+    {
+        return shardMetrics.length;
+    }
+
+    @Override
+    public long getCapacity()
+    {
+        long capacity = 0L;
+        for (RingBufferMetrics metrics : shardMetrics)
+        {
+            capacity += metrics.getCapacity();
+        }
+        return capacity;
+    }
+
+    /**
+     * Get the number of events published to all shards
+     * @return the published events
+     */
+    @Override
+    public long getPublishedCount()
+    {
+        long published = 0L;
+        for (RingBufferMetrics metrics : shardMetrics)
+        {
+            published += metrics.getCursor() - RingBuffer.INITIAL_CURSOR_VALUE;
+        }
+        return published;
+    }
+
+    @Override
+    public long getOccupancy()
+    {
+        long occupancy = 0L;
+        for (RingBufferMetrics metrics : shardMetrics)
+        {
+            occupancy += metrics.getOccupancy();
+        }
+        return occupancy;
+    }
+
+    /**
+     * Get the occupancy of each shard, which shows how evenly keys are spread over the shards
+     * @return the occupancy of each shard in shard order
+     */
+    @Override
+    public long[] getShardOccupancies()
+    {
+        final long[] occupancies = new long[shardMetrics.length];
+        for (int i = 0; i < shardMetrics.length; i++)
+        {
+            occupancies[i] = shardMetrics[i].getOccupancy();
+        }
+        return occupancies;
+    }
+
+    /**
+     * Get the lag of the consumer furthest behind the cursor of its shard
+     * @return the maximum lag over all shards
+     */
+    @Override
+    public long getMaxEventConsumerLag()
+    {
+        long maximum = 0L;
+        for (RingBufferMetrics metrics : shardMetrics)
+        {
+            for (long lag : metrics.getEventConsumerLags())
+            {
+                maximum = maximum > lag ? maximum : lag;
+            }
+        }
+        return maximum;
+    }
+
+    /**
+     * Register these metrics under the given domain and the metrics of each shard under the domain suffixed
+     * with the shard, e.g. domain.shard0
+     * @param mBeanServer to register with
+     * @param domain for the object names
+     * @throws JMException if registration fails
+     */
+    public synchronized void register(final MBeanServer mBeanServer, final String domain) throws JMException
+    {
+        final ObjectName name = new ObjectName(domain + ":type=ShardedRingBuffer");
+        mBeanServer.registerMBean(this, name);
+        registeredName = name;
+
+        for (int i = 0; i < shardMetrics.length; i++)
+        {
+            shardMetrics[i].register(mBeanServer, domain + ".shard" + i);
+        }
+    }
+
+    /**
+     * Unregister all the MBeans previously registered
+     * @param mBeanServer they were registered with
+     * @throws JMException if unregistration fails
+     */
+    public synchronized void unregister(final MBeanServer mBeanServer) throws JMException
+    {
+        if (null != registeredName)
+        {
+            mBeanServer.unregisterMBean(registeredName);
+            registeredName = null;
+        }
+
+        for (RingBufferMetrics metrics : shardMetrics)
+        {
+            metrics.unregister(mBeanServer);
+        }
+    }
+}
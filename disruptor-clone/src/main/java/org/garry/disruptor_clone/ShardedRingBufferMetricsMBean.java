@@ -0,0 +1,19 @@
+package org.garry.disruptor_clone;
+
+/**
+ * JMX view of {@link ShardedRingBufferMetrics}
+ */
+public interface ShardedRingBufferMetricsMBean {
+
+    int getShardCount();
+
+    long getCapacity();
+
+    long getPublishedCount();
+
+    long getOccupancy();
+
+    long[] getShardOccupancies();
+
+    long getMaxEventConsumerLag();
+}
@@ -9,9 +9,21 @@ public final class SingleThreadedSequenceClaimStrategy implements SequenceClaimS
         return sequence++;
     }
 
+    @Override
+    public long getAndAdd(final int delta) {
+        long value = sequence;
+        sequence += delta;
+        return value;
+    }
+
     @Override
     public void setSequence(final long sequence) {
 
         this.sequence = sequence;
     }
+
+    @Override
+    public long getSequence() {
+        return sequence;
+    }
 }
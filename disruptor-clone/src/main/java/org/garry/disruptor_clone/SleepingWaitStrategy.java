@@ -0,0 +1,101 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.garry.disruptor_clone.Util.getMinimumSequence;
+
+/**
+ * Sleeping strategy that initially spins, then yields, then parks the thread for the minimum time the
+ * OS allows. Producers never need to signal, and idle consumers use very little CPU at the cost of
+ * some latency.
+ */
+final class SleepingWaitStrategy implements WaitStrategy {
+
+    private static final int RETRIES = 200;
+    private static final int YIELD_RETRIES = 100;
+
+    @Override
+    public long waitFor(final EventConsumer[] eventConsumers, final RingBuffer<?> ringBuffer,
+                        final ThresholdBarrier<?> barrier, final long sequence)
+            throws AlertException, InterruptedException
+    {
+        long availableSequence;
+        int counter = RETRIES;
+        if (0 == eventConsumers.length)
+        {
+            while ((availableSequence = ringBuffer.getCursor()) < sequence)
+            {
+                counter = applyWaitMethod(barrier, counter);
+            }
+        }
+        else
+        {
+            while ((availableSequence = getMinimumSequence(eventConsumers)) < sequence)
+            {
+                counter = applyWaitMethod(barrier, counter);
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public long waitFor(final EventConsumer[] eventConsumers, final RingBuffer<?> ringBuffer,
+                        final ThresholdBarrier<?> barrier, final long sequence,
+                        final long timeout, final TimeUnit units)
+            throws AlertException, InterruptedException
+    {
+        final long deadline = System.nanoTime() + units.toNanos(timeout);
+
+        long availableSequence;
+        int counter = RETRIES;
+        if (0 == eventConsumers.length)
+        {
+            while ((availableSequence = ringBuffer.getCursor()) < sequence)
+            {
+                counter = applyWaitMethod(barrier, counter);
+                if (System.nanoTime() - deadline >= 0)
+                {
+                    break;
+                }
+            }
+        }
+        else
+        {
+            while ((availableSequence = getMinimumSequence(eventConsumers)) < sequence)
+            {
+                counter = applyWaitMethod(barrier, counter);
+                if (System.nanoTime() - deadline >= 0)
+                {
+                    break;
+                }
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAll()
+    {
+    }
+
+    private int applyWaitMethod(final ThresholdBarrier<?> barrier, int counter) throws AlertException
+    {
+        barrier.checkForAlert();
+
+        if (counter > YIELD_RETRIES)
+        {
+            --counter;
+        }
+        else if (counter > 0)
+        {
+            --counter;
+            Thread.yield();
+        }
+        else
+        {
+            LockSupport.parkNanos(1L);
+        }
+        return counter;
+    }
+}
@@ -1,24 +1,160 @@
 package org.garry.disruptor_clone;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Abstraction for claiming slots in a {@link RingBuffer} while tracking dependent {@link EventConsumer}s
- * @param <T> {@link Entry} implementation stored in the {@link RingBuffer}
+ * @param <T> type of the entries stored in the {@link RingBuffer}
  */
-public interface SlotClaimer<T extends Entry> {
+public interface SlotClaimer<T> {
 
     /**
-     * Claim the next slot in sequence for a producer on the {@link RingBuffer}
-     * @return
+     * Claim the next sequence for a producer once there is capacity in the {@link RingBuffer}, without touching
+     * its entry. The entry is got with {@link RingBuffer#get(long)} and made available with {@link #publish(long)}.
+     * @return the claimed sequence
      */
+    long next();
+
+    /**
+     * Claim the next slot in sequence for a producer on the {@link RingBuffer}, to be published with
+     * {@link Entry#commit()}
+     * @return the claimed entry
+     * @throws ClassCastException if the entries do not implement {@link Entry}
+     * @deprecated use {@link #next()} and {@link #publish(long)}, or an {@link EntryClaimer}
+     */
+    @Deprecated
     T claimNext();
 
     /**
-     * Claim a specific sequence in the {@link RingBuffer} when only one producer is involved
+     * Claim a specific sequence in the {@link RingBuffer} when only one producer is involved, to be published with
+     * {@link Entry#commit()}
      * @param sequence to be claimed
-     * @return the claimed {@link Entry}
+     * @return the claimed entry
+     * @throws ClassCastException if the entries do not implement {@link Entry}
+     * @deprecated use {@link #claim(long)} and {@link #forcePublish(long)}, or an {@link EntryClaimer}
      */
+    @Deprecated
     T claimSequence(long sequence);
 
+    /**
+     * Claim the next batch of sequences for a producer, waiting once for capacity for the whole batch
+     * @param sequenceBatch to be updated with the claimed range of sequences
+     * @return the updated sequenceBatch to be published with {@link #publish(SequenceBatch)}
+     */
+    SequenceBatch next(SequenceBatch sequenceBatch);
+
+    /**
+     * Publish a sequence claimed with {@link #next()} to the consumers
+     * @param sequence to be published
+     */
+    void publish(long sequence);
+
+    /**
+     * Publish a batch claimed with {@link #next(SequenceBatch)} to the consumers
+     * @param sequenceBatch to be published
+     */
+    void publish(SequenceBatch sequenceBatch);
+
+    /**
+     * Claim the next sequence as {@link #next()} does, waiting no longer than the timeout for capacity
+     * @param timeout to wait for capacity
+     * @param units of the timeout
+     * @return the claimed sequence or -1 if the timeout expired before capacity was available
+     */
+    long next(long timeout, TimeUnit units);
+
+    /**
+     * Claim the next batch of sequences as {@link #next(SequenceBatch)} does, waiting no longer than the timeout
+     * for capacity for the whole batch
+     * @param sequenceBatch to be updated with the claimed range of sequences
+     * @param timeout to wait for capacity
+     * @param units of the timeout
+     * @return the updated sequenceBatch or null if the timeout expired before capacity was available
+     */
+    SequenceBatch next(SequenceBatch sequenceBatch, long timeout, TimeUnit units);
+
+    /**
+     * Claim the next sequence only if there is capacity in the {@link RingBuffer} right now
+     * @return the claimed sequence or -1 if the {@link RingBuffer} is full
+     */
+    long tryNext();
+
+    /**
+     * Claim the next batch of sequences only if there is capacity for the whole batch right now
+     * @param sequenceBatch to be updated with the claimed range of sequences
+     * @return the updated sequenceBatch or null if there is not enough capacity
+     */
+    SequenceBatch tryNext(SequenceBatch sequenceBatch);
+
+    /**
+     * Wait for capacity to claim a specific sequence when only one producer is involved, which is then
+     * published with {@link #forcePublish(long)}
+     * @param sequence to be claimed
+     */
+    void claim(long sequence);
+
+    /**
+     * Publish a sequence claimed with {@link #claim(long)}, see {@link RingBuffer#forcePublish(long)}
+     * @param sequence to be published
+     */
+    void forcePublish(long sequence);
+
+    /**
+     * Claim the next sequence as {@link #next()} does, populate its entry with the translator and publish it,
+     * publishing even if the translator throws so the sequence is never left unpublished
+     * @param translator to populate the entry
+     * @return the published sequence
+     */
+    long publishEvent(EventTranslator<T> translator);
+
+    /**
+     * Publish with a translator taking an argument, see {@link #publishEvent(EventTranslator)}
+     * @param translator to populate the entry
+     * @param arg0 to translate from
+     * @return the published sequence
+     */
+    <A> long publishEvent(EventTranslatorOneArg<T, A> translator, A arg0);
+
+    /**
+     * Publish with a translator taking two arguments, see {@link #publishEvent(EventTranslator)}
+     * @param translator to populate the entry
+     * @param arg0 first argument to translate from
+     * @param arg1 second argument to translate from
+     * @return the published sequence
+     */
+    <A, B> long publishEvent(EventTranslatorTwoArg<T, A, B> translator, A arg0, B arg1);
+
+    /**
+     * Publish with a translator taking three arguments, see {@link #publishEvent(EventTranslator)}
+     * @param translator to populate the entry
+     * @param arg0 first argument to translate from
+     * @param arg1 second argument to translate from
+     * @param arg2 third argument to translate from
+     * @return the published sequence
+     */
+    <A, B, C> long publishEvent(EventTranslatorThreeArg<T, A, B, C> translator, A arg0, B arg1, C arg2);
+
+    /**
+     * Get the number of slots that can be claimed right now without waiting on the gating {@link EventConsumer}s.
+     * Other producers may claim some of them first, so this is an upper bound when there is more than one producer.
+     * @return the number of slots free to be claimed
+     */
+    long remainingCapacity();
+
+    /**
+     * Add gating {@link EventConsumer}s, or any other {@link GatingSequence}s, while producers are running, starting
+     * them at the cursor of the {@link RingBuffer}. They must not have been started yet.
+     * @param eventConsumers to gate producers
+     */
+    void addGatingEventConsumers(GatingSequence... eventConsumers);
+
+    /**
+     * Stop gating producers on an {@link EventConsumer}, or any other {@link GatingSequence}, while they are running
+     * @param eventConsumer to stop gating on
+     * @return true if the {@link GatingSequence} was found and removed
+     */
+    boolean removeGatingEventConsumer(GatingSequence eventConsumer);
+
     /**
      * Get the sequence that {@link EventConsumer}s have consumed from the {@link RingBuffer}
      * @return
@@ -29,5 +165,5 @@ public interface SlotClaimer<T extends Entry> {
      * Get the underlying {@link RingBuffer} in which slots are being claimed
      * @return the {@link RingBuffer}
      */
-    RingBuffer<? extends Entry> getRingBuffer();
+    RingBuffer<? extends T> getRingBuffer();
 }
@@ -6,9 +6,9 @@ import java.util.concurrent.TimeUnit;
  * Coordination barrier for tracking the cursor for producers and sequence of
  * dependent {@link EventConsumer}s for a {@link RingBuffer}
  *
- * @param <T> {@link Entry} implementation stored in the {@link RingBuffer}
+ * @param <T> type of the entries stored in the {@link RingBuffer}
  */
-public interface ThresholdBarrier<T extends Entry> {
+public interface ThresholdBarrier<T> {
 
     /**
      * Get the {@link RingBuffer} underlying this barrier
@@ -24,6 +24,20 @@ public interface ThresholdBarrier<T extends Entry> {
      */
     long getProcessedEventSequence();
 
+    /**
+     * Add dependent {@link EventConsumer}s while running, starting them at the cursor of the {@link RingBuffer}.
+     * They must not have been started yet.
+     * @param eventConsumers to be waited on
+     */
+    void addEventConsumers(EventConsumer... eventConsumers);
+
+    /**
+     * Stop waiting on a dependent {@link EventConsumer} while running
+     * @param eventConsumer to stop waiting on
+     * @return true if the {@link EventConsumer} was found and removed
+     */
+    boolean removeEventConsumer(EventConsumer eventConsumer);
+
     /**
      * Wait for the given sequence to be available for consumption
      * @param sequence to wait for
@@ -0,0 +1,130 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.garry.disruptor_clone.Util.getMinimumSequence;
+
+/**
+ * Blocking strategy that bounds every park on the condition variable by a timeout, after which the cursor
+ * and alert status are checked again. A missed signal therefore costs at most one timeout period.
+ *
+ * As with {@link BlockingWaitStrategy} producers only take the lock to signal when a consumer is parked.
+ */
+final class TimeoutBlockingWaitStrategy implements WaitStrategy {
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition consumerNotifyCondition = lock.newCondition();
+    private volatile int numWaiters = 0;
+    private final long timeoutNanos;
+
+    TimeoutBlockingWaitStrategy(final long timeout, final TimeUnit units)
+    {
+        if (timeout <= 0)
+        {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        this.timeoutNanos = units.toNanos(timeout);
+    }
+
+    @Override
+    public long waitFor(final EventConsumer[] eventConsumers, final RingBuffer<?> ringBuffer,
+                        final ThresholdBarrier<?> barrier, final long sequence)
+            throws AlertException, InterruptedException
+    {
+        long availableSequence;
+        if ((availableSequence = ringBuffer.getCursor()) < sequence)
+        {
+            lock.lock();
+            try
+            {
+                ++numWaiters;
+                while ((availableSequence = ringBuffer.getCursor()) < sequence)
+                {
+                    barrier.checkForAlert();
+                    consumerNotifyCondition.awaitNanos(timeoutNanos);
+                }
+            }
+            finally
+            {
+                --numWaiters;
+                lock.unlock();
+            }
+        }
+
+        if (0 != eventConsumers.length)
+        {
+            while ((availableSequence = getMinimumSequence(eventConsumers)) < sequence)
+            {
+                barrier.checkForAlert();
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public long waitFor(final EventConsumer[] eventConsumers, final RingBuffer<?> ringBuffer,
+                        final ThresholdBarrier<?> barrier, final long sequence,
+                        final long timeout, final TimeUnit units)
+            throws AlertException, InterruptedException
+    {
+        final long deadline = System.nanoTime() + units.toNanos(timeout);
+
+        long availableSequence;
+        if ((availableSequence = ringBuffer.getCursor()) < sequence)
+        {
+            lock.lock();
+            try
+            {
+                ++numWaiters;
+                long remainingNanos;
+                while ((availableSequence = ringBuffer.getCursor()) < sequence)
+                {
+                    barrier.checkForAlert();
+                    if ((remainingNanos = deadline - System.nanoTime()) <= 0)
+                    {
+                        break;
+                    }
+                    consumerNotifyCondition.awaitNanos(Math.min(remainingNanos, timeoutNanos));
+                }
+            }
+            finally
+            {
+                --numWaiters;
+                lock.unlock();
+            }
+        }
+
+        if (0 != eventConsumers.length)
+        {
+            while ((availableSequence = getMinimumSequence(eventConsumers)) < sequence)
+            {
+                barrier.checkForAlert();
+                if (System.nanoTime() - deadline >= 0)
+                {
+                    break;
+                }
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAll()
+    {
+        if (0 != numWaiters)
+        {
+            lock.lock();
+            try
+            {
+                consumerNotifyCondition.signalAll();
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implemented by an {@link EventHandler} to be called back when no entries have arrived within the timeout set by
+ * {@link BatchEventConsumer#setTimeout(long, TimeUnit)}, for example to flush a partially filled batch or emit a
+ * heartbeat while traffic is quiet.
+ */
+public interface TimeoutHandler {
+
+    /**
+     * Called on the consumer thread each time the timeout elapses without new entries
+     * @param sequence of the last entry handled
+     */
+    void onTimeout(long sequence);
+}
@@ -0,0 +1,93 @@
+package org.garry.disruptor_clone;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual threads for running {@link EventConsumer}s when the JVM supports them, falling back to daemon
+ * platform threads otherwise, so many mostly idle consumers can be run without a platform thread each.
+ *
+ * Virtual threads are looked up reflectively so the library does not need to be compiled for a JVM that has them.
+ * Consumers on virtual threads should wait with {@link WaitStrategyOption#PARKING} or another strategy that does
+ * not busy spin. As an {@link Executor} each task is started on a new thread, which suits
+ * {@link Disruptor#Disruptor(Factory, int, Executor)}.
+ */
+public final class VirtualThreadFactory implements ThreadFactory, Executor {
+
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = lookupVirtualThreadFactory();
+
+    private final ThreadFactory threadFactory;
+
+    /**
+     * Create a factory for virtual threads, or for daemon platform threads if they are not supported
+     */
+    public VirtualThreadFactory()
+    {
+        this(true);
+    }
+
+    /**
+     * @param preferVirtualThreads false to always create daemon platform threads
+     */
+    public VirtualThreadFactory(final boolean preferVirtualThreads)
+    {
+        if (preferVirtualThreads && null != VIRTUAL_THREAD_FACTORY)
+        {
+            threadFactory = VIRTUAL_THREAD_FACTORY;
+        }
+        else
+        {
+            threadFactory = runnable ->
+            {
+                final Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+
+    /**
+     * Check if the running JVM supports virtual threads
+     * @return true if virtual threads are supported
+     */
+    public static boolean isVirtualThreadSupported()
+    {
+        return null != VIRTUAL_THREAD_FACTORY;
+    }
+
+    /**
+     * Check if this factory creates virtual threads
+     * @return true for virtual threads or false for platform threads
+     */
+    public boolean isVirtual()
+    {
+        return threadFactory == VIRTUAL_THREAD_FACTORY;
+    }
+
+    @Override
+    public Thread newThread(final Runnable runnable)
+    {
+        return threadFactory.newThread(runnable);
+    }
+
+    @Override
+    public void execute(final Runnable command)
+    {
+        newThread(command).start();
+    }
+
+    private static ThreadFactory lookupVirtualThreadFactory()
+    {
+        try
+        {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        }
+        catch (final ReflectiveOperationException | RuntimeException ex)
+        {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strategy employed for making {@link EventConsumer}s wait on a {@link ThresholdBarrier} for the cursor of the
+ * {@link RingBuffer} and the sequence of any dependent {@link EventConsumer}s
+ */
+public interface WaitStrategy {
+
+    /**
+     * Wait for the given sequence to be available for consumption
+     * @param eventConsumers the barrier is dependent on, which may be empty
+     * @param ringBuffer on which to wait
+     * @param barrier the consumer is waiting on, checked for alerts while waiting
+     * @param sequence to wait for
+     * @return the sequence up to which is available
+     */
+    long waitFor(EventConsumer[] eventConsumers, RingBuffer<?> ringBuffer, ThresholdBarrier<?> barrier, long sequence)
+            throws AlertException, InterruptedException;
+
+    /**
+     * Wait for the given sequence to be available for consumption with a time out
+     * @param eventConsumers the barrier is dependent on, which may be empty
+     * @param ringBuffer on which to wait
+     * @param barrier the consumer is waiting on, checked for alerts while waiting
+     * @param sequence to wait for
+     * @param timeout value
+     * @param units for the timeout value
+     * @return the sequence up to which is available, which may be less than the requested sequence on time out
+     */
+    long waitFor(EventConsumer[] eventConsumers, RingBuffer<?> ringBuffer, ThresholdBarrier<?> barrier, long sequence,
+                 long timeout, TimeUnit units)
+            throws AlertException, InterruptedException;
+
+    /**
+     * Signal the {@link EventConsumer}s waiting on the {@link RingBuffer} that the cursor has advanced
+     */
+    void signalAll();
+}
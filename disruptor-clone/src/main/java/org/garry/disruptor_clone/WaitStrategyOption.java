@@ -0,0 +1,73 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options for the {@link WaitStrategy} used by the {@link ThresholdBarrier}s of a {@link RingBuffer}
+ */
+public enum WaitStrategyOption {
+
+    /**
+     * Park on a lock condition until signalled by a producer, for when threads are shared and CPU is precious
+     */
+    BLOCKING
+            {
+                @Override
+                public WaitStrategy newInstance() {
+                    return new BlockingWaitStrategy();
+                }
+            },
+    /**
+     * Park with {@link java.util.concurrent.locks.LockSupport} until unparked by a producer, which lets consumers
+     * running on virtual threads unmount while idle
+     */
+    PARKING
+            {
+                @Override
+                public WaitStrategy newInstance() {
+                    return new ParkingWaitStrategy();
+                }
+            },
+    /**
+     * Park on a lock condition but only for a bounded period before checking the cursor again
+     */
+    TIMEOUT_BLOCKING
+            {
+                @Override
+                public WaitStrategy newInstance() {
+                    return new TimeoutBlockingWaitStrategy(1, TimeUnit.MILLISECONDS);
+                }
+            },
+    /**
+     * Spin, then yield, then sleep for the minimum park time, trading some latency for low CPU usage
+     */
+    SLEEPING
+            {
+                @Override
+                public WaitStrategy newInstance() {
+                    return new SleepingWaitStrategy();
+                }
+            },
+    /**
+     * Spin then yield the thread, good for low latency when there are spare cores
+     */
+    YIELDING
+            {
+                @Override
+                public WaitStrategy newInstance() {
+                    return new YieldingWaitStrategy();
+                }
+            },
+    /**
+     * Busy spin on the sequence, lowest latency when each consumer has a dedicated core
+     */
+    BUSY_SPIN
+            {
+                @Override
+                public WaitStrategy newInstance() {
+                    return new BusySpinWaitStrategy();
+                }
+            };
+
+    public abstract WaitStrategy newInstance();
+}
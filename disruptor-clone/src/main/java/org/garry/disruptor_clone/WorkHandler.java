@@ -0,0 +1,14 @@
+package org.garry.disruptor_clone;
+
+/**
+ * Callback for a {@link WorkProcessor} in a {@link WorkerPool}, where each {@link Entry} is handled by exactly one worker
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ */
+public interface WorkHandler<T> {
+
+    /**
+     * Handle an entry that has been claimed by this worker alone
+     * @param entry to be handled
+     */
+    void onEvent(T entry);
+}
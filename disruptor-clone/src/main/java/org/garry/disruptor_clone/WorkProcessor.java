@@ -0,0 +1,119 @@
+package org.garry.disruptor_clone;
+
+/**
+ * {@link EventConsumer} that competes with the other WorkProcessors of a {@link WorkerPool} to claim each
+ * {@link Entry} from a shared work sequence, so every entry is handled by exactly one worker.
+ *
+ * The sequence of a WorkProcessor is kept one behind the entry it has claimed, so the minimum over all the workers
+ * in a pool is a safe point up to which every entry has been handled.
+ *
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ */
+public final class WorkProcessor<T> implements EventConsumer {
+
+    private final Sequence sequence = new Sequence(RingBuffer.INITIAL_CURSOR_VALUE);
+    private volatile boolean running = true;
+
+    private final ThresholdBarrier<T> barrier;
+    private final WorkHandler<T> handler;
+    private final Sequence workSequence;
+    private EventExceptionHandler eventExceptionHandler = new FatalEventExceptionHandler();
+
+    /**
+     * @param barrier on which to wait for entries
+     * @param handler to call for each claimed entry
+     * @param workSequence shared with the other WorkProcessors of the pool
+     */
+    public WorkProcessor(final ThresholdBarrier<T> barrier,
+                         final WorkHandler<T> handler,
+                         final Sequence workSequence)
+    {
+        this.barrier = barrier;
+        this.handler = handler;
+        this.workSequence = workSequence;
+    }
+
+    public void setEventExceptionHandler(final EventExceptionHandler eventExceptionHandler)
+    {
+        if (null == eventExceptionHandler)
+        {
+            throw new NullPointerException();
+        }
+        this.eventExceptionHandler = eventExceptionHandler;
+    }
+
+    @Override
+    public long getSequence()
+    {
+        return sequence.get();
+    }
+
+    /**
+     * Set the sequence of this WorkProcessor and the shared work sequence, so the pool starts after it.
+     * Setting every WorkProcessor of a pool to the same sequence is safe before the pool is started.
+     * @param sequence of the last {@link Entry} to be treated as handled
+     */
+    @Override
+    public void setSequence(final long sequence)
+    {
+        this.sequence.set(sequence);
+        workSequence.set(sequence);
+    }
+
+    @Override
+    public void halt()
+    {
+        running = false;
+        barrier.alert();
+    }
+
+    @Override
+    public ThresholdBarrier<T> getBarrier()
+    {
+        return barrier;
+    }
+
+    @Override
+    public void run()
+    {
+        T entry = null;
+        final Thread thisThread = Thread.currentThread();
+
+        boolean processedSequence = true;
+        long nextSequence = sequence.get();
+        long availableSequence = RingBuffer.INITIAL_CURSOR_VALUE;
+
+        while (running && !thisThread.isInterrupted())
+        {
+            try
+            {
+                if (processedSequence)
+                {
+                    processedSequence = false;
+                    nextSequence = workSequence.incrementAndGet();
+                    sequence.set(nextSequence - 1L);
+                }
+
+                if (availableSequence >= nextSequence)
+                {
+                    entry = barrier.getRingBuffer().get(nextSequence);
+                    handler.onEvent(entry);
+                    processedSequence = true;
+                }
+                else
+                {
+                    availableSequence = barrier.waitFor(nextSequence);
+                }
+            }
+            catch (final AlertException ex)
+            {
+                // Wake up from blocking wait and check if we should continue to run
+            }
+            catch (final Exception ex)
+            {
+                eventExceptionHandler.handleEvent(ex, entry);
+                processedSequence = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Pool of {@link WorkProcessor}s sharing one {@link RingBuffer}, where each {@link Entry} is handled by exactly one
+ * worker rather than broadcast to all of them.
+ *
+ * Producers gate on the pool by passing {@link #getWorkProcessors()} as the gating {@link EventConsumer}s of a
+ * {@link SlotClaimer}, and downstream consumers can wait on them in the same way via
+ * {@link RingBuffer#createBarrier(EventConsumer...)}.
+ *
+ * @param <T> type of the entries stored in the {@link RingBuffer}
+ */
+public final class WorkerPool<T> {
+
+    private final Sequence workSequence = new Sequence(RingBuffer.INITIAL_CURSOR_VALUE);
+    private final WorkProcessor<T>[] workProcessors;
+
+    /**
+     * Create a pool with one worker for each handler
+     * @param barrier on which the workers wait for entries
+     * @param eventExceptionHandler for exceptions thrown by the handlers
+     * @param workHandlers to handle the entries, one per worker
+     */
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    public WorkerPool(final ThresholdBarrier<T> barrier,
+                      final EventExceptionHandler eventExceptionHandler,
+                      final WorkHandler<T>... workHandlers)
+    {
+        if (workHandlers.length == 0)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        workProcessors = (WorkProcessor<T>[]) new WorkProcessor<?>[workHandlers.length];
+        for (int i = 0; i < workHandlers.length; i++)
+        {
+            workProcessors[i] = new WorkProcessor<>(barrier, workHandlers[i], workSequence);
+            workProcessors[i].setEventExceptionHandler(eventExceptionHandler);
+        }
+    }
+
+    /**
+     * Get the workers of the pool, to be used as gating {@link EventConsumer}s
+     * @return the workers
+     */
+    public EventConsumer[] getWorkProcessors()
+    {
+        return workProcessors.clone();
+    }
+
+    /**
+     * Get the sequence up to which every {@link Entry} has been handled by the pool
+     * @return the minimum sequence of the workers
+     */
+    public long getSequence()
+    {
+        return Util.getMinimumSequence(workProcessors);
+    }
+
+    /**
+     * Start a thread for each worker
+     * @param executor to run the workers
+     */
+    public void start(final Executor executor)
+    {
+        for (WorkProcessor<T> workProcessor : workProcessors)
+        {
+            executor.execute(workProcessor);
+        }
+    }
+
+    /**
+     * Halt all the workers at their next clean break
+     */
+    public void halt()
+    {
+        for (WorkProcessor<T> workProcessor : workProcessors)
+        {
+            workProcessor.halt();
+        }
+    }
+}
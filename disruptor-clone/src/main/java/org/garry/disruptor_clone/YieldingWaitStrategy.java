@@ -0,0 +1,94 @@
+package org.garry.disruptor_clone;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.garry.disruptor_clone.Util.getMinimumSequence;
+
+/**
+ * Yielding strategy that busy spins for a number of tries then yields the thread to let others run
+ *
+ * A good compromise between latency and CPU usage when there are spare cores
+ */
+final class YieldingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public long waitFor(final EventConsumer[] eventConsumers, final RingBuffer<?> ringBuffer,
+                        final ThresholdBarrier<?> barrier, final long sequence)
+            throws AlertException, InterruptedException
+    {
+        long availableSequence;
+        int counter = SPIN_TRIES;
+        if (0 == eventConsumers.length)
+        {
+            while ((availableSequence = ringBuffer.getCursor()) < sequence)
+            {
+                counter = applyWaitMethod(barrier, counter);
+            }
+        }
+        else
+        {
+            while ((availableSequence = getMinimumSequence(eventConsumers)) < sequence)
+            {
+                counter = applyWaitMethod(barrier, counter);
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public long waitFor(final EventConsumer[] eventConsumers, final RingBuffer<?> ringBuffer,
+                        final ThresholdBarrier<?> barrier, final long sequence,
+                        final long timeout, final TimeUnit units)
+            throws AlertException, InterruptedException
+    {
+        final long deadline = System.nanoTime() + units.toNanos(timeout);
+
+        long availableSequence;
+        int counter = SPIN_TRIES;
+        if (0 == eventConsumers.length)
+        {
+            while ((availableSequence = ringBuffer.getCursor()) < sequence)
+            {
+                counter = applyWaitMethod(barrier, counter);
+                if (System.nanoTime() - deadline >= 0)
+                {
+                    break;
+                }
+            }
+        }
+        else
+        {
+            while ((availableSequence = getMinimumSequence(eventConsumers)) < sequence)
+            {
+                counter = applyWaitMethod(barrier, counter);
+                if (System.nanoTime() - deadline >= 0)
+                {
+                    break;
+                }
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAll()
+    {
+    }
+
+    private int applyWaitMethod(final ThresholdBarrier<?> barrier, int counter) throws AlertException
+    {
+        barrier.checkForAlert();
+
+        if (0 == counter)
+        {
+            Thread.yield();
+        }
+        else
+        {
+            --counter;
+        }
+        return counter;
+    }
+}
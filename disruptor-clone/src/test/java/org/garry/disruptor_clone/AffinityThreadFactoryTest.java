@@ -0,0 +1,47 @@
+package org.garry.disruptor_clone;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public final class AffinityThreadFactoryTest {
+
+    @Test
+    public void shouldRunTaskWhetherOrNotPinningIsPermitted() throws Exception
+    {
+        AffinityThreadFactory threadFactory = new AffinityThreadFactory(0);
+        CountDownLatch ran = new CountDownLatch(1);
+
+        threadFactory.execute(ran::countDown);
+
+        Assert.assertTrue(ran.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, threadFactory.getPinnedThreadCount() + threadFactory.getUnpinnedThreadCount());
+    }
+
+    @Test
+    public void shouldRunUnpinnedWhenCpuCannotBePinned() throws Exception
+    {
+        AffinityThreadFactory threadFactory = new AffinityThreadFactory(-1);
+        CountDownLatch ran = new CountDownLatch(1);
+
+        Thread thread = threadFactory.newThread(ran::countDown);
+        Assert.assertTrue(thread.isDaemon());
+        thread.start();
+        thread.join(5000);
+
+        Assert.assertEquals(0L, ran.getCount());
+        Assert.assertEquals(1, threadFactory.getUnpinnedThreadCount());
+    }
+
+    @Test
+    public void shouldHandOutCpusInCreationOrder()
+    {
+        AffinityThreadFactory threadFactory = new AffinityThreadFactory(3, 1);
+
+        Assert.assertEquals("affinity-cpu-3", threadFactory.newThread(() -> {}).getName());
+        Assert.assertEquals("affinity-cpu-1", threadFactory.newThread(() -> {}).getName());
+        Assert.assertEquals("affinity-cpu-3", threadFactory.newThread(() -> {}).getName());
+    }
+}
@@ -1,8 +1,16 @@
 package org.garry.disruptor_clone;
 
+import org.garry.disruptor_clone.support.DaemonThreadFactory;
 import org.garry.disruptor_clone.support.TestEntry;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
 public final class BatchEventConsumerTest {
 
     @Test
@@ -33,4 +41,209 @@ public final class BatchEventConsumerTest {
         batchEventConsumer.run();
         batchEventConsumer.getBarrier();
     }
+
+    @Test
+    public void shouldRecordBatchSizesAndCommitToHandleLatency() throws Exception
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 128,
+                                                            SequenceClaimThreadingStrategy.SINGLE_THREAD,
+                                                            WaitStrategyOption.YIELDING, true);
+        BatchEventConsumer<TestEntry> batchEventConsumer =
+            new BatchEventConsumer<>(ringBuffer.createBarrier(), new NoOpEventHandler());
+        Histogram batchSizes = new Histogram();
+        Histogram latencies = new Histogram();
+        batchEventConsumer.setBatchSizeHistogram(batchSizes);
+        batchEventConsumer.setLatencyHistogram(latencies);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        Thread thread = new DaemonThreadFactory().newThread(batchEventConsumer);
+        thread.start();
+
+        long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (batchEventConsumer.getSequence() < 99L && System.nanoTime() < timeout)
+        {
+            Thread.yield();
+        }
+        batchEventConsumer.halt();
+        thread.join(5000);
+
+        Assert.assertEquals(100L, latencies.getCount());
+        Assert.assertTrue(latencies.getMax() <= System.nanoTime() - start);
+        Assert.assertEquals(1L, batchSizes.getCount());
+        Assert.assertEquals(100L, batchSizes.getMax());
+    }
+
+    @Test
+    public void shouldCallEndOfBatchForEachBoundedBatch() throws Exception
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 128);
+        BatchEventConsumer<TestEntry> batchEventConsumer =
+            new BatchEventConsumer<>(ringBuffer.createBarrier(), new NoOpEventHandler());
+        Histogram batchSizes = new Histogram();
+        batchEventConsumer.setBatchSizeHistogram(batchSizes);
+        batchEventConsumer.setMaxBatchSize(32);
+
+        for (int i = 0; i < 100; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        runUntilSequence(batchEventConsumer, 99L);
+
+        Assert.assertEquals(4L, batchSizes.getCount());
+        Assert.assertEquals(32L, batchSizes.getMax());
+    }
+
+    @Test
+    public void shouldShrinkBatchSizeWhenBatchesExceedTargetLatency() throws Exception
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 128);
+        final List<Integer> batchSizes = new ArrayList<>();
+        BatchEventConsumer<TestEntry> batchEventConsumer =
+            new BatchEventConsumer<>(ringBuffer.createBarrier(), new NoOpEventHandler()
+            {
+                private int batchSize;
+
+                @Override
+                public void onEvent(final TestEntry entry, final long sequence)
+                {
+                    final long end = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(200);
+                    while (System.nanoTime() < end)
+                    {
+                        // busy spin so every entry takes longer than the target, unlike a park that may return early
+                    }
+                    batchSize++;
+                }
+
+                @Override
+                public void onEndOfBatch()
+                {
+                    batchSizes.add(Integer.valueOf(batchSize));
+                    batchSize = 0;
+                }
+            });
+        batchEventConsumer.setTargetBatchLatency(100, TimeUnit.MICROSECONDS);
+        Assert.assertEquals(128, batchEventConsumer.getBatchSize());
+        batchEventConsumer.setMaxBatchSize(32);
+
+        for (int i = 0; i < 100; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        runUntilSequence(batchEventConsumer, 99L);
+
+        Assert.assertEquals(32, batchSizes.get(0).intValue());
+        for (int i = 1; i < batchSizes.size(); i++)
+        {
+            Assert.assertTrue(batchSizes.get(i).intValue() >= 1);
+            Assert.assertTrue(batchSizes.get(i).intValue() <= batchSizes.get(i - 1).intValue());
+        }
+        Assert.assertEquals(1, batchSizes.get(batchSizes.size() - 1).intValue());
+        Assert.assertEquals(1, batchEventConsumer.getBatchSize());
+    }
+
+    @Test
+    public void shouldCallTimeoutHandlerWithLastSequenceWhenIdle() throws Exception
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 128);
+        TimeoutRecordingEventHandler handler = new TimeoutRecordingEventHandler();
+        BatchEventConsumer<TestEntry> batchEventConsumer =
+            new BatchEventConsumer<>(ringBuffer.createBarrier(), handler);
+        batchEventConsumer.setTimeout(10, TimeUnit.MILLISECONDS);
+
+        Thread thread = new DaemonThreadFactory().newThread(batchEventConsumer);
+        thread.start();
+
+        Assert.assertEquals(Long.valueOf(-1L), handler.timeouts.poll(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 3; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Long sequence;
+        while ((sequence = handler.timeouts.poll(5, TimeUnit.SECONDS)) != null &&
+               sequence.longValue() != 2L && System.nanoTime() < timeout)
+        {
+            // timeouts from before the entries were handled
+        }
+
+        batchEventConsumer.halt();
+        thread.join(5000);
+
+        Assert.assertEquals(Long.valueOf(2L), sequence);
+        Assert.assertEquals(2L, batchEventConsumer.getSequence());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectTimeoutWhenHandlerCannotHandleTimeouts()
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 128);
+        BatchEventConsumer<TestEntry> batchEventConsumer =
+            new BatchEventConsumer<>(ringBuffer.createBarrier(), new NoOpEventHandler());
+
+        batchEventConsumer.setTimeout(10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectLatencyHistogramWhenCommitTimesAreNotStamped()
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 128);
+        BatchEventConsumer<TestEntry> batchEventConsumer =
+            new BatchEventConsumer<>(ringBuffer.createBarrier(), new NoOpEventHandler());
+
+        batchEventConsumer.setLatencyHistogram(new Histogram());
+    }
+
+    private static void runUntilSequence(final BatchEventConsumer<TestEntry> batchEventConsumer, final long sequence)
+        throws InterruptedException
+    {
+        Thread thread = new DaemonThreadFactory().newThread(batchEventConsumer);
+        thread.start();
+
+        long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (batchEventConsumer.getSequence() < sequence && System.nanoTime() < timeout)
+        {
+            Thread.yield();
+        }
+        batchEventConsumer.halt();
+        thread.join(5000);
+        Assert.assertEquals(sequence, batchEventConsumer.getSequence());
+    }
+
+    private static final class TimeoutRecordingEventHandler extends NoOpEventHandler implements TimeoutHandler
+    {
+        private final BlockingQueue<Long> timeouts = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onTimeout(final long sequence)
+        {
+            timeouts.add(Long.valueOf(sequence));
+        }
+    }
+
+    private static class NoOpEventHandler implements EventHandler<TestEntry>
+    {
+        @Override
+        public void onEvent(final TestEntry entry)
+        {
+        }
+
+        @Override
+        public void onEndOfBatch()
+        {
+        }
+
+        @Override
+        public void onCompletion()
+        {
+        }
+    }
 }
@@ -34,4 +34,115 @@ public final class BusySpinSlotClaimerTest {
 
         Assert.assertEquals(sequence, entry.getSequence());
     }
+
+    @Test
+    public void shouldClaimBatch()
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 100);
+        TestEventConsumer eventProcessor = new TestEventConsumer(0);
+
+        BusySpinSlotClaimer<TestEntry> slotClaimer = new BusySpinSlotClaimer<>(0, ringBuffer, eventProcessor);
+
+        SequenceBatch sequenceBatch = slotClaimer.next(new SequenceBatch(10));
+
+        Assert.assertEquals(0L, sequenceBatch.getStart());
+        Assert.assertEquals(9L, sequenceBatch.getEnd());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectBatchLargerThanThreshold()
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 128);
+        TestEventConsumer eventProcessor = new TestEventConsumer(0);
+
+        BusySpinSlotClaimer<TestEntry> slotClaimer = new BusySpinSlotClaimer<>(20, ringBuffer, eventProcessor);
+
+        slotClaimer.next(new SequenceBatch(110));
+    }
+
+    @Test
+    public void shouldOnlyRescanGatingConsumersWhenCachedSequenceWouldBlock()
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 128);
+        CountingEventConsumer eventConsumer = new CountingEventConsumer();
+
+        BusySpinSlotClaimer<TestEntry> slotClaimer = new BusySpinSlotClaimer<>(0, ringBuffer, eventConsumer);
+
+        for (int i = 0; i < ringBuffer.getCapacity(); i++)
+        {
+            slotClaimer.publish(slotClaimer.next());
+        }
+        Assert.assertEquals(0, eventConsumer.reads);
+
+        eventConsumer.sequence = ringBuffer.getCursor();
+        slotClaimer.publish(slotClaimer.next());
+        Assert.assertEquals(1, eventConsumer.reads);
+
+        slotClaimer.publish(slotClaimer.next());
+        Assert.assertEquals(1, eventConsumer.reads);
+    }
+
+    @Test
+    public void shouldGateOnConsumersAddedAndRemovedWhileRunning()
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 16);
+        TestEventConsumer eventConsumer = new TestEventConsumer(-1);
+
+        BusySpinSlotClaimer<TestEntry> slotClaimer = new BusySpinSlotClaimer<>(0, ringBuffer, eventConsumer);
+        for (int i = 0; i < 4; i++)
+        {
+            slotClaimer.publish(slotClaimer.next());
+        }
+        eventConsumer.setSequence(3L);
+
+        TestEventConsumer addedEventConsumer = new TestEventConsumer(-7);
+        slotClaimer.addGatingEventConsumers(addedEventConsumer);
+        Assert.assertEquals(3L, addedEventConsumer.getSequence());
+
+        for (int i = 0; i < ringBuffer.getCapacity(); i++)
+        {
+            slotClaimer.publish(slotClaimer.next());
+        }
+        eventConsumer.setSequence(ringBuffer.getCursor());
+        Assert.assertEquals(-1L, slotClaimer.tryNext());
+
+        Assert.assertTrue(slotClaimer.removeGatingEventConsumer(addedEventConsumer));
+        Assert.assertFalse(slotClaimer.removeGatingEventConsumer(addedEventConsumer));
+        Assert.assertEquals(20L, slotClaimer.tryNext());
+    }
+
+    private static final class CountingEventConsumer implements EventConsumer
+    {
+        private volatile long sequence = -1L;
+        private int reads;
+
+        @Override
+        public long getSequence()
+        {
+            reads++;
+            return sequence;
+        }
+
+        @Override
+        public void setSequence(final long sequence)
+        {
+            this.sequence = sequence;
+        }
+
+        @Override
+        public ThresholdBarrier getBarrier()
+        {
+            return null;
+        }
+
+        @Override
+        public void halt()
+        {
+        }
+
+        @Override
+        public void run()
+        {
+        }
+    }
 }
@@ -0,0 +1,107 @@
+package org.garry.disruptor_clone;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class CpuLayoutTest {
+
+    private Path sysfsRoot;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        sysfsRoot = Files.createTempDirectory("sysfs");
+        write("cpu/online", "0-7\n");
+        write("cpu/isolated", "5,7\n");
+        write("node/node0/cpulist", "0-3\n");
+        write("node/node1/cpulist", "4-7\n");
+        for (int cpu = 0; cpu < 8; cpu++)
+        {
+            final int sibling = cpu ^ 2;
+            write("cpu/cpu" + cpu + "/topology/thread_siblings_list",
+                  Math.min(cpu, sibling) + "," + Math.max(cpu, sibling) + "\n");
+        }
+    }
+
+    @After
+    public void tearDown()
+    {
+        delete(sysfsRoot.toFile());
+    }
+
+    @Test
+    public void shouldReadCoresNodesAndIsolatedCpus()
+    {
+        CpuLayout layout = CpuLayout.read(sysfsRoot);
+
+        Assert.assertEquals(4, layout.getCores().size());
+        Assert.assertArrayEquals(new long[]{0, 2}, toLongs(layout.getCores().get(0)));
+        Assert.assertArrayEquals(new long[]{1, 3}, toLongs(layout.getCores().get(1)));
+        Assert.assertEquals(1, layout.getNode(6));
+        Assert.assertArrayEquals(new long[]{5, 7}, toLongs(layout.getIsolatedCpus()));
+    }
+
+    @Test
+    public void shouldPlanOntoSiblingsOfIsolatedCoresOnTheirNodeFirst()
+    {
+        CpuLayout layout = CpuLayout.read(sysfsRoot);
+
+        Assert.assertArrayEquals(new long[]{5, 7, 4, 6}, toLongs(layout.plan(4)));
+    }
+
+    @Test
+    public void shouldPlanOntoPreferredNodeThenWrapAround()
+    {
+        CpuLayout layout = CpuLayout.read(sysfsRoot);
+
+        Assert.assertArrayEquals(new long[]{0, 2, 1, 3, 5, 7, 4, 6, 0, 2}, toLongs(layout.plan(10, 0)));
+    }
+
+    @Test
+    public void shouldFallBackToAvailableProcessorsWithoutSysfs()
+    {
+        CpuLayout layout = CpuLayout.read(sysfsRoot.resolve("missing"));
+
+        Assert.assertEquals(Runtime.getRuntime().availableProcessors(), layout.getCores().size());
+        Assert.assertEquals(0, layout.getIsolatedCpus().length);
+        Assert.assertEquals(0L, layout.plan(1)[0]);
+    }
+
+    private void write(final String file, final String content) throws IOException
+    {
+        final Path path = sysfsRoot.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long[] toLongs(final int[] values)
+    {
+        final long[] longs = new long[values.length];
+        for (int i = 0; i < values.length; i++)
+        {
+            longs[i] = values[i];
+        }
+        return longs;
+    }
+
+    private static void delete(final File file)
+    {
+        final File[] children = file.listFiles();
+        if (null != children)
+        {
+            for (File child : children)
+            {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
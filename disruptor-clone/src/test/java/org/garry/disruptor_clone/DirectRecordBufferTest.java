@@ -0,0 +1,133 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.DaemonThreadFactory;
+import org.garry.disruptor_clone.support.TestEventConsumer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public final class DirectRecordBufferTest {
+
+    @Test
+    public void shouldFillEverySlotWithTheOneBuffer()
+    {
+        DirectRecordBuffer records = new DirectRecordBuffer(PriceRecord.STRIDE, 6);
+        RingBuffer<DirectRecordBuffer> ringBuffer = new RingBuffer<>(records, 6);
+
+        for (int i = 0; i < ringBuffer.getCapacity(); i++)
+        {
+            Assert.assertSame(records, ringBuffer.get(i));
+        }
+    }
+
+    @Test
+    public void shouldLayoutRecordsContiguouslyBySequence()
+    {
+        DirectRecordBuffer records = new DirectRecordBuffer(PriceRecord.STRIDE, 6);
+        PriceRecord record = new PriceRecord();
+
+        for (int i = 0; i < records.getCapacity() * 2; i++)
+        {
+            record.wrap(records, i);
+            Assert.assertEquals((i % 8) * PriceRecord.STRIDE, record.getOffset());
+            Assert.assertEquals(i, record.getSequence());
+        }
+    }
+
+    @Test
+    public void shouldExchangeFieldsThroughRingBuffer() throws Exception
+    {
+        DirectRecordBuffer records = new DirectRecordBuffer(PriceRecord.STRIDE, 8);
+        RingBuffer<DirectRecordBuffer> ringBuffer = new RingBuffer<>(records, 8);
+        SlotClaimer<DirectRecordBuffer> slotClaimer =
+            new BusySpinSlotClaimer<>(0, ringBuffer, new TestEventConsumer(-1));
+        PriceRecord producerRecord = new PriceRecord();
+
+        for (int i = 0; i < 3; i++)
+        {
+            long sequence = slotClaimer.next();
+            producerRecord.wrap(records, sequence);
+            producerRecord.setPrice(100L + i);
+            producerRecord.setQuantity(i);
+            slotClaimer.publish(sequence);
+        }
+
+        final List<Long> prices = new ArrayList<>();
+        final List<Integer> quantities = new ArrayList<>();
+        final PriceRecord consumerRecord = new PriceRecord();
+        BatchEventConsumer<DirectRecordBuffer> batchEventConsumer =
+            new BatchEventConsumer<>(ringBuffer.createBarrier(), new SequencedEventHandler<DirectRecordBuffer>()
+            {
+                @Override
+                public void onEvent(final DirectRecordBuffer entry, final long sequence)
+                {
+                    consumerRecord.wrap(entry, sequence);
+                    prices.add(consumerRecord.getPrice());
+                    quantities.add(consumerRecord.getQuantity());
+                }
+
+                @Override
+                public void onEndOfBatch()
+                {
+                }
+
+                @Override
+                public void onCompletion()
+                {
+                }
+            });
+
+        Thread thread = new DaemonThreadFactory().newThread(batchEventConsumer);
+        thread.start();
+        long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (batchEventConsumer.getSequence() < 2L && System.nanoTime() < timeout)
+        {
+            Thread.yield();
+        }
+        batchEventConsumer.halt();
+        thread.join(5000);
+
+        Assert.assertEquals(2L, batchEventConsumer.getSequence());
+        for (int i = 0; i < 3; i++)
+        {
+            Assert.assertEquals(Long.valueOf(100L + i), prices.get(i));
+            Assert.assertEquals(Integer.valueOf(i), quantities.get(i));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotFillRingBufferLargerThanAllocated()
+    {
+        new RingBuffer<>(new DirectRecordBuffer(PriceRecord.STRIDE, 2), 4);
+    }
+
+    private static final class PriceRecord extends DirectRecord
+    {
+        static final int STRIDE = 16;
+        private static final int PRICE_OFFSET = 0;
+        private static final int QUANTITY_OFFSET = 8;
+
+        long getPrice()
+        {
+            return getLong(PRICE_OFFSET);
+        }
+
+        void setPrice(final long price)
+        {
+            putLong(PRICE_OFFSET, price);
+        }
+
+        int getQuantity()
+        {
+            return getInt(QUANTITY_OFFSET);
+        }
+
+        void setQuantity(final int quantity)
+        {
+            putInt(QUANTITY_OFFSET, quantity);
+        }
+    }
+}
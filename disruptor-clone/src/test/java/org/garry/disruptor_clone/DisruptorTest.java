@@ -0,0 +1,136 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.DaemonThreadFactory;
+import org.garry.disruptor_clone.support.TestEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public final class DisruptorTest {
+
+    private static final int ENTRIES = 1000;
+
+    @Test
+    public void shouldGateOnlyOnConsumersNothingDependsOn()
+    {
+        Disruptor<TestEntry> disruptor = new Disruptor<>(TestEntry.FACTORY, 64, Runnable::run);
+
+        EventHandlerGroup<TestEntry> first = disruptor.handleEventsWith(new SequenceRecorder(), new SequenceRecorder());
+        Assert.assertArrayEquals(first.getEventConsumers(), disruptor.getGatingEventConsumers());
+
+        EventHandlerGroup<TestEntry> last = first.then(new SequenceRecorder());
+        Assert.assertArrayEquals(last.getEventConsumers(), disruptor.getGatingEventConsumers());
+
+        EventHandlerGroup<TestEntry> independent = disruptor.handleEventsWith(new SequenceRecorder());
+        Assert.assertEquals(2, disruptor.getGatingEventConsumers().length);
+
+        last.and(independent).then(new SequenceRecorder());
+        Assert.assertEquals(1, disruptor.getGatingEventConsumers().length);
+    }
+
+    @Test
+    public void shouldProcessDiamondInDependencyOrder() throws Exception
+    {
+        ExecutorService executor = Executors.newCachedThreadPool(new DaemonThreadFactory());
+        Disruptor<TestEntry> disruptor = new Disruptor<>(TestEntry.FACTORY, 64, executor,
+                                                         SequenceClaimThreadingStrategy.SINGLE_THREAD,
+                                                         WaitStrategyOption.YIELDING);
+        final SequenceRecorder left = new SequenceRecorder();
+        final SequenceRecorder right = new SequenceRecorder();
+        final SequenceRecorder join = new SequenceRecorder()
+        {
+            @Override
+            public void onEvent(final TestEntry entry, final long sequence)
+            {
+                if (left.lastSequence < sequence || right.lastSequence < sequence)
+                {
+                    outOfOrder = true;
+                }
+                super.onEvent(entry, sequence);
+            }
+        };
+
+        disruptor.handleEventsWith(left, right).then(join);
+        SlotClaimer<TestEntry> slotClaimer = disruptor.start();
+
+        for (int i = 0; i < ENTRIES; i++)
+        {
+            slotClaimer.publish(slotClaimer.next());
+        }
+
+        long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (join.lastSequence < ENTRIES - 1 && System.nanoTime() < timeout)
+        {
+            Thread.yield();
+        }
+        disruptor.halt();
+        executor.shutdown();
+
+        Assert.assertEquals(ENTRIES - 1, join.lastSequence);
+        Assert.assertFalse(join.outOfOrder);
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldProcessEverythingPublishedBeforeShutdown() throws Exception
+    {
+        ExecutorService executor = Executors.newCachedThreadPool(new DaemonThreadFactory());
+        Disruptor<TestEntry> disruptor = new Disruptor<>(TestEntry.FACTORY, 64, executor,
+                                                         SequenceClaimThreadingStrategy.SINGLE_THREAD,
+                                                         WaitStrategyOption.YIELDING);
+        final SequenceRecorder first = new SequenceRecorder();
+        final SequenceRecorder last = new SequenceRecorder();
+        disruptor.handleEventsWith(first).then(last);
+
+        SlotClaimer<TestEntry> slotClaimer = disruptor.start();
+        for (int i = 0; i < ENTRIES; i++)
+        {
+            slotClaimer.publish(slotClaimer.next());
+        }
+
+        Assert.assertTrue(disruptor.shutdown(10, TimeUnit.SECONDS));
+        Assert.assertEquals(ENTRIES - 1, first.lastSequence);
+        Assert.assertEquals(ENTRIES - 1, last.lastSequence);
+        Assert.assertEquals(1, last.completions);
+
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotAddConsumersAfterStart()
+    {
+        Disruptor<TestEntry> disruptor = new Disruptor<>(TestEntry.FACTORY, 64, command -> {});
+        EventHandlerGroup<TestEntry> group = disruptor.handleEventsWith(new SequenceRecorder());
+        disruptor.start();
+
+        group.then(new SequenceRecorder());
+    }
+
+    private static class SequenceRecorder implements SequencedEventHandler<TestEntry>
+    {
+        volatile long lastSequence = -1L;
+        volatile boolean outOfOrder = false;
+        volatile int completions = 0;
+
+        @Override
+        public void onEvent(final TestEntry entry, final long sequence)
+        {
+            lastSequence = sequence;
+        }
+
+        @Override
+        public void onEndOfBatch()
+        {
+        }
+
+        @Override
+        public void onCompletion()
+        {
+            completions++;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.StubEntry;
+import org.garry.disruptor_clone.support.TestEventConsumer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public final class EntryClaimerTest {
+
+    @Test
+    public void shouldSetSequenceOnClaimAndPublishOnCommit() throws Exception
+    {
+        RingBuffer<StubEntry> ringBuffer = new RingBuffer<>(StubEntry.FACTORY, 16);
+        EntryClaimer<StubEntry> entryClaimer = new EntryClaimer<>(ringBuffer);
+
+        StubEntry entry = entryClaimer.claimNext();
+        Assert.assertEquals(0L, entry.getSequence());
+        Assert.assertEquals(RingBuffer.INITIAL_CURSOR_VALUE, ringBuffer.getCursor());
+
+        entry.commit();
+        Assert.assertEquals(0L, ringBuffer.createBarrier().waitFor(0L));
+    }
+
+    @Test
+    public void shouldNotClaimWhenGatingConsumersHaveNoCapacity()
+    {
+        RingBuffer<StubEntry> ringBuffer = new RingBuffer<>(StubEntry.FACTORY, 16);
+        TestEventConsumer eventConsumer = new TestEventConsumer(-1);
+        EntryClaimer<StubEntry> entryClaimer =
+            new EntryClaimer<>(new BusySpinSlotClaimer<>(0, ringBuffer, eventConsumer));
+
+        for (int i = 0; i < ringBuffer.getCapacity(); i++)
+        {
+            entryClaimer.claimNext().commit();
+        }
+
+        Assert.assertNull(entryClaimer.tryClaimNext());
+        Assert.assertNull(entryClaimer.claimNext(1, TimeUnit.MILLISECONDS));
+
+        eventConsumer.setSequence(0L);
+        Assert.assertEquals(16L, entryClaimer.tryClaimNext().getSequence());
+    }
+
+    @Test
+    public void shouldClaimAndCommitBatchThroughSlotClaimer() throws Exception
+    {
+        RingBuffer<StubEntry> ringBuffer = new RingBuffer<>(StubEntry.FACTORY, 16);
+        EntryClaimer<StubEntry> entryClaimer =
+            new EntryClaimer<>(new BusySpinSlotClaimer<>(0, ringBuffer, new TestEventConsumer(-1)));
+
+        SequenceBatch sequenceBatch = entryClaimer.claimNext(new SequenceBatch(4));
+        for (long sequence = sequenceBatch.getStart(); sequence <= sequenceBatch.getEnd(); sequence++)
+        {
+            Assert.assertEquals(sequence, ringBuffer.get(sequence).getSequence());
+        }
+
+        entryClaimer.commit(sequenceBatch);
+        Assert.assertEquals(3L, ringBuffer.createBarrier().waitFor(0L));
+    }
+
+    @Test
+    public void shouldMoveCursorToClaimedSequenceOnCommit()
+    {
+        RingBuffer<StubEntry> ringBuffer = new RingBuffer<>(StubEntry.FACTORY, 16);
+        EntryClaimer<StubEntry> entryClaimer =
+            new EntryClaimer<>(new BusySpinSlotClaimer<>(4, ringBuffer, new TestEventConsumer(0)));
+
+        entryClaimer.claimSequence(9L).commit();
+
+        Assert.assertEquals(9L, ringBuffer.getCursor());
+        Assert.assertEquals(9L, ringBuffer.getClaimedSequence());
+    }
+}
@@ -0,0 +1,58 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.TestEventConsumer;
+import org.garry.disruptor_clone.support.ValueEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class EventTranslatorTest {
+
+    private static final EventTranslator<ValueEntry> TRANSLATOR = entry -> entry.setValue(7L);
+    private static final EventTranslatorOneArg<ValueEntry, Long> ONE_ARG_TRANSLATOR =
+        (entry, arg0) -> entry.setValue(arg0);
+    private static final EventTranslatorTwoArg<ValueEntry, Long, Long> TWO_ARG_TRANSLATOR =
+        (entry, arg0, arg1) -> entry.setValue(arg0 + arg1);
+    private static final EventTranslatorThreeArg<ValueEntry, Long, Long, Long> THREE_ARG_TRANSLATOR =
+        (entry, arg0, arg1, arg2) -> entry.setValue(arg0 + arg1 + arg2);
+
+    @Test
+    public void shouldPublishWithEachTranslatorArity()
+    {
+        RingBuffer<ValueEntry> ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, 16);
+        SlotClaimer<ValueEntry> slotClaimer = new BusySpinSlotClaimer<>(0, ringBuffer, new TestEventConsumer(-1L));
+
+        Assert.assertEquals(0L, slotClaimer.publishEvent(TRANSLATOR));
+        Assert.assertEquals(1L, slotClaimer.publishEvent(ONE_ARG_TRANSLATOR, 1L));
+        Assert.assertEquals(2L, slotClaimer.publishEvent(TWO_ARG_TRANSLATOR, 1L, 2L));
+        Assert.assertEquals(3L, slotClaimer.publishEvent(THREE_ARG_TRANSLATOR, 1L, 2L, 3L));
+
+        Assert.assertEquals(3L, ringBuffer.getCursor());
+        Assert.assertEquals(7L, ringBuffer.get(0L).getValue());
+        Assert.assertEquals(1L, ringBuffer.get(1L).getValue());
+        Assert.assertEquals(3L, ringBuffer.get(2L).getValue());
+        Assert.assertEquals(6L, ringBuffer.get(3L).getValue());
+    }
+
+    @Test
+    public void shouldCommitWhenTranslatorThrows()
+    {
+        RingBuffer<ValueEntry> ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, 16);
+        EventTranslator<ValueEntry> failingTranslator = entry ->
+        {
+            throw new IllegalStateException();
+        };
+
+        try
+        {
+            ringBuffer.publishEvent(failingTranslator);
+            Assert.fail("translator exception should propagate");
+        }
+        catch (final IllegalStateException ex)
+        {
+            Assert.assertEquals(0L, ringBuffer.getCursor());
+        }
+
+        Assert.assertEquals(1L, ringBuffer.publishEvent(ONE_ARG_TRANSLATOR, 5L));
+        Assert.assertEquals(1L, ringBuffer.getCursor());
+    }
+}
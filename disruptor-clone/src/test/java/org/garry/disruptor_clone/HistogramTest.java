@@ -0,0 +1,93 @@
+package org.garry.disruptor_clone;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+public final class HistogramTest {
+
+    @Test
+    public void shouldReportExactValuesBelowSixteen()
+    {
+        Histogram histogram = new Histogram();
+        for (long i = 1; i <= 10; i++)
+        {
+            histogram.record(i);
+        }
+
+        Assert.assertEquals(10L, histogram.getCount());
+        Assert.assertEquals(10L, histogram.getMax());
+        Assert.assertEquals(5.5d, histogram.getMean(), 0.0d);
+        Assert.assertEquals(5L, histogram.getMedian());
+        Assert.assertEquals(10L, histogram.getPercentile99());
+    }
+
+    @Test
+    public void shouldReportLargeValuesWithinRelativeError()
+    {
+        Histogram histogram = new Histogram();
+        for (long i = 1; i <= 100000; i++)
+        {
+            histogram.record(i * 1000L);
+        }
+
+        assertWithinRelativeError(50000000L, histogram.getMedian());
+        assertWithinRelativeError(99000000L, histogram.getPercentile99());
+        assertWithinRelativeError(99900000L, histogram.getPercentile999());
+        Assert.assertEquals(100000000L, histogram.getMax());
+    }
+
+    @Test
+    public void shouldMapEveryValueToBucketContainingIt()
+    {
+        long[] values = {0L, 15L, 16L, 31L, 32L, 33L, 1000L, 123456789L, Long.MAX_VALUE};
+        for (long value : values)
+        {
+            int bucket = Histogram.bucketIndex(value);
+            Assert.assertTrue(value <= Histogram.highestEquivalentValue(bucket));
+            Assert.assertTrue(0 == bucket || value > Histogram.highestEquivalentValue(bucket - 1));
+        }
+    }
+
+    @Test
+    public void shouldCopyAndReset()
+    {
+        Histogram histogram = new Histogram();
+        Histogram interval = new Histogram();
+        histogram.record(3L);
+        histogram.record(7L);
+
+        histogram.copyAndReset(interval);
+
+        Assert.assertEquals(0L, histogram.getCount());
+        Assert.assertEquals(0L, histogram.getMax());
+        Assert.assertEquals(2L, interval.getCount());
+        Assert.assertEquals(7L, interval.getMax());
+        Assert.assertEquals(5.0d, interval.getMean(), 0.0d);
+    }
+
+    @Test
+    public void shouldReportAndResetEachInterval()
+    {
+        Histogram histogram = new Histogram();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HistogramIntervalReporter reporter = new HistogramIntervalReporter(new PrintStream(out, true))
+            .add("latency", histogram);
+
+        histogram.record(5L);
+        reporter.run();
+        reporter.run();
+
+        String[] lines = out.toString().split(System.lineSeparator());
+        Assert.assertEquals(2, lines.length);
+        Assert.assertTrue(lines[0], lines[0].endsWith(" latency count=1 p50=5 p99=5 p99.9=5 max=5"));
+        Assert.assertTrue(lines[1], lines[1].endsWith(" latency count=0 p50=0 p99=0 p99.9=0 max=0"));
+    }
+
+    private static void assertWithinRelativeError(final long expected, final long actual)
+    {
+        Assert.assertTrue(expected + " vs " + actual, Math.abs(actual - expected) <= expected / 16);
+    }
+}
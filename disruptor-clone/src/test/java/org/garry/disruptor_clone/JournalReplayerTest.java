@@ -0,0 +1,208 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.DaemonThreadFactory;
+import org.garry.disruptor_clone.support.TestEventConsumer;
+import org.garry.disruptor_clone.support.ValueEntry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public final class JournalReplayerTest {
+
+    private static final int SEGMENT_SIZE = 64;
+    private static final int ENTRIES = 7;
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("journal").toFile();
+
+        JournalingEventHandler<ValueEntry> journal = new JournalingEventHandler<>(directory, SEGMENT_SIZE, ValueEntry.CODEC);
+        ValueEntry entry = new ValueEntry();
+        for (long i = 0; i < ENTRIES; i++)
+        {
+            entry.setSequence(i, null);
+            entry.setValue(100L + i);
+            journal.onEvent(entry, i);
+        }
+        journal.onEndOfBatch();
+        journal.onCompletion();
+    }
+
+    @After
+    public void tearDown()
+    {
+        for (File segment : JournalingEventHandler.listSegments(directory))
+        {
+            segment.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void shouldReplayIntoEventHandlerWithReadAhead() throws Exception
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory());
+        JournalReplayer<ValueEntry> replayer = new JournalReplayer<>(directory, ValueEntry.CODEC, executor);
+        final List<Long> values = new ArrayList<>();
+        final int[] batches = new int[1];
+
+        long lastSequence = replayer.replay(new SequencedEventHandler<ValueEntry>()
+        {
+            @Override
+            public void onEvent(final ValueEntry entry, final long sequence)
+            {
+                values.add(Long.valueOf(sequence));
+                values.add(entry.getValue());
+            }
+
+            @Override
+            public void onEndOfBatch()
+            {
+                batches[0]++;
+            }
+
+            @Override
+            public void onCompletion()
+            {
+            }
+        }, new ValueEntry());
+        executor.shutdown();
+
+        Assert.assertEquals(ENTRIES - 1, lastSequence);
+        Assert.assertEquals(3, batches[0]);
+        for (int i = 0; i < ENTRIES; i++)
+        {
+            Assert.assertEquals(Long.valueOf(i), values.get(2 * i));
+            Assert.assertEquals(Long.valueOf(100L + i), values.get(2 * i + 1));
+        }
+    }
+
+    @Test
+    public void shouldRepublishIntoRingBufferAndHandOverAtNextSequence() throws Exception
+    {
+        RingBuffer<ValueEntry> ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, 16);
+        SlotClaimer<ValueEntry> slotClaimer = new BusySpinSlotClaimer<>(0, ringBuffer, new TestEventConsumer(-1));
+        JournalReplayer<ValueEntry> replayer = new JournalReplayer<>(directory, ValueEntry.CODEC);
+
+        long lastSequence = replayer.replay(slotClaimer, 2);
+
+        Assert.assertEquals(ENTRIES - 1, lastSequence);
+        Assert.assertEquals(ENTRIES - 1, ringBuffer.getCursor());
+        for (int i = 0; i < ENTRIES; i++)
+        {
+            Assert.assertEquals(100L + i, ringBuffer.get(i).getValue());
+        }
+
+        Assert.assertEquals(lastSequence + 1, slotClaimer.next());
+    }
+
+    @Test
+    public void shouldHandOverToLiveRingBufferAfterReplayingIntoEventHandler() throws Exception
+    {
+        long lastSequence = new JournalReplayer<>(directory, ValueEntry.CODEC).replay(new EventHandler<ValueEntry>()
+        {
+            @Override
+            public void onEvent(final ValueEntry entry)
+            {
+            }
+
+            @Override
+            public void onEndOfBatch()
+            {
+            }
+
+            @Override
+            public void onCompletion()
+            {
+            }
+        }, new ValueEntry());
+
+        ExecutorService executor = Executors.newCachedThreadPool(new DaemonThreadFactory());
+        Disruptor<ValueEntry> disruptor = new Disruptor<>(ValueEntry.FACTORY, 16, executor,
+                                                          SequenceClaimThreadingStrategy.SINGLE_THREAD,
+                                                          WaitStrategyOption.YIELDING);
+        JournalingEventHandler<ValueEntry> journal = new JournalingEventHandler<>(directory, SEGMENT_SIZE, ValueEntry.CODEC);
+        disruptor.handleEventsWith(journal);
+        disruptor.resetTo(lastSequence);
+        SlotClaimer<ValueEntry> slotClaimer = disruptor.start();
+
+        long sequence = slotClaimer.publishEvent(entry -> entry.setValue(200L));
+
+        long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (disruptor.getGatingEventConsumers()[0].getSequence() < sequence && System.nanoTime() < timeout)
+        {
+            Thread.yield();
+        }
+        disruptor.halt();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        Assert.assertEquals(ENTRIES, sequence);
+        Assert.assertEquals(ENTRIES, journal.getLastJournaledSequence());
+    }
+
+    @Test
+    public void shouldPublishClaimedBatchWhenDecodingFails() throws Exception
+    {
+        RingBuffer<ValueEntry> ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, 16);
+        SlotClaimer<ValueEntry> slotClaimer = new BusySpinSlotClaimer<>(0, ringBuffer, new TestEventConsumer(-1));
+        JournalReplayer<ValueEntry> replayer = new JournalReplayer<>(directory, new JournalCodec<ValueEntry>()
+        {
+            @Override
+            public int encodedLength(final ValueEntry entry)
+            {
+                return ValueEntry.CODEC.encodedLength(entry);
+            }
+
+            @Override
+            public void encode(final ValueEntry entry, final ByteBuffer buffer)
+            {
+                ValueEntry.CODEC.encode(entry, buffer);
+            }
+
+            @Override
+            public void decode(final ByteBuffer buffer, final ValueEntry entry)
+            {
+                ValueEntry.CODEC.decode(buffer, entry);
+                if (102L == entry.getValue())
+                {
+                    throw new IllegalArgumentException("corrupt record");
+                }
+            }
+        });
+
+        try
+        {
+            replayer.replay(slotClaimer, 2);
+            Assert.fail("decoding failure should be thrown");
+        }
+        catch (final IllegalArgumentException expected)
+        {
+            Assert.assertEquals(2L, ringBuffer.getCursor());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectRingBufferNotLinedUpWithJournal() throws Exception
+    {
+        RingBuffer<ValueEntry> ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, 16);
+        SlotClaimer<ValueEntry> slotClaimer = new BusySpinSlotClaimer<>(0, ringBuffer, new TestEventConsumer(-1));
+        slotClaimer.publish(slotClaimer.next());
+
+        new JournalReplayer<>(directory, ValueEntry.CODEC).replay(slotClaimer, 2);
+    }
+}
@@ -0,0 +1,215 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.ValueEntry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+public final class JournalingEventHandlerTest {
+
+    private static final int SEGMENT_SIZE = 64;
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("journal").toFile();
+    }
+
+    @After
+    public void tearDown()
+    {
+        for (File segment : JournalingEventHandler.listSegments(directory))
+        {
+            segment.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void shouldReportProgressOnlyAtEndOfBatch() throws Exception
+    {
+        JournalingEventHandler<ValueEntry> handler = new JournalingEventHandler<>(directory, SEGMENT_SIZE, ValueEntry.CODEC);
+        BatchEventConsumer<ValueEntry> consumer = newConsumer(handler);
+
+        handler.onEvent(entry(0L, 7L), 0L);
+        handler.onEvent(entry(1L, 8L), 1L);
+        Assert.assertEquals(-1L, consumer.getSequence());
+
+        handler.onEndOfBatch();
+        Assert.assertEquals(1L, consumer.getSequence());
+        Assert.assertEquals(1L, handler.getLastJournaledSequence());
+        handler.onCompletion();
+
+        ByteBuffer segment = read(JournalingEventHandler.segmentFile(directory, 0L));
+        Assert.assertEquals(8, segment.getInt(0));
+        Assert.assertEquals(0L, segment.getLong(4));
+        Assert.assertEquals(7L, segment.getLong(12));
+        Assert.assertEquals(8, segment.getInt(20));
+        Assert.assertEquals(1L, segment.getLong(24));
+        Assert.assertEquals(8L, segment.getLong(32));
+        Assert.assertEquals(0, segment.getInt(40));
+    }
+
+    @Test
+    public void shouldRollToNewSegmentWhenFull() throws Exception
+    {
+        JournalingEventHandler<ValueEntry> handler = new JournalingEventHandler<>(directory, SEGMENT_SIZE, ValueEntry.CODEC);
+
+        for (long i = 0; i < 7; i++)
+        {
+            handler.onEvent(entry(i, i), i);
+        }
+        handler.onEndOfBatch();
+        handler.onCompletion();
+
+        File[] segments = JournalingEventHandler.listSegments(directory);
+        Assert.assertEquals(3, segments.length);
+        Assert.assertEquals(JournalingEventHandler.segmentFile(directory, 3L), segments[1]);
+        Assert.assertEquals(6L, read(segments[2]).getLong(4));
+    }
+
+    @Test
+    public void shouldResumeAfterLastJournaledSequence() throws Exception
+    {
+        JournalingEventHandler<ValueEntry> handler = new JournalingEventHandler<>(directory, SEGMENT_SIZE, ValueEntry.CODEC);
+        handler.onEvent(entry(0L, 10L), 0L);
+        handler.onEvent(entry(1L, 11L), 1L);
+        handler.onEndOfBatch();
+        handler.onCompletion();
+
+        handler = new JournalingEventHandler<>(directory, SEGMENT_SIZE, ValueEntry.CODEC);
+        BatchEventConsumer<ValueEntry> consumer = newConsumer(handler);
+        Assert.assertEquals(1L, handler.getLastJournaledSequence());
+
+        try
+        {
+            handler.onEvent(entry(1L, 99L), 1L);
+            Assert.fail("sequence already journaled should be rejected");
+        }
+        catch (final IllegalStateException expected)
+        {
+            Assert.assertEquals(1L, handler.getLastJournaledSequence());
+        }
+
+        handler.onEvent(entry(2L, 12L), 2L);
+        handler.onEndOfBatch();
+        handler.onCompletion();
+
+        Assert.assertEquals(2L, consumer.getSequence());
+        ByteBuffer segment = read(JournalingEventHandler.segmentFile(directory, 0L));
+        Assert.assertEquals(11L, segment.getLong(32));
+        Assert.assertEquals(2L, segment.getLong(44));
+        Assert.assertEquals(12L, segment.getLong(52));
+    }
+
+    @Test
+    public void shouldPassReplayedEntriesThroughWithoutJournalingThemAgain() throws Exception
+    {
+        JournalingEventHandler<ValueEntry> handler = new JournalingEventHandler<>(directory, SEGMENT_SIZE, ValueEntry.CODEC);
+        handler.onEvent(entry(0L, 10L), 0L);
+        handler.onEvent(entry(1L, 11L), 1L);
+        handler.onEndOfBatch();
+        handler.onCompletion();
+
+        handler = new JournalingEventHandler<>(directory, SEGMENT_SIZE, ValueEntry.CODEC);
+        BatchEventConsumer<ValueEntry> consumer = newConsumer(handler);
+        handler.passReplayedEntriesThrough();
+
+        handler.onEvent(entry(0L, 10L), 0L);
+        handler.onEvent(entry(1L, 11L), 1L);
+        handler.onEvent(entry(2L, 12L), 2L);
+        handler.onEndOfBatch();
+        handler.onCompletion();
+
+        Assert.assertEquals(2L, consumer.getSequence());
+        ByteBuffer segment = read(JournalingEventHandler.segmentFile(directory, 0L));
+        Assert.assertEquals(2L, segment.getLong(44));
+        Assert.assertEquals(12L, segment.getLong(52));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectGapInSequence() throws Exception
+    {
+        JournalingEventHandler<ValueEntry> handler = new JournalingEventHandler<>(directory, SEGMENT_SIZE, ValueEntry.CODEC);
+        try
+        {
+            handler.onEvent(entry(0L, 10L), 0L);
+            handler.onEvent(entry(2L, 12L), 2L);
+        }
+        finally
+        {
+            handler.onCompletion();
+        }
+    }
+
+    @Test
+    public void shouldRejectEntryEncodedToZeroBytes() throws Exception
+    {
+        JournalCodec<ValueEntry> codec = new JournalCodec<ValueEntry>()
+        {
+            @Override
+            public int encodedLength(final ValueEntry entry)
+            {
+                return 0L == entry.getValue() ? 0 : ValueEntry.CODEC.encodedLength(entry);
+            }
+
+            @Override
+            public void encode(final ValueEntry entry, final ByteBuffer buffer)
+            {
+                ValueEntry.CODEC.encode(entry, buffer);
+            }
+
+            @Override
+            public void decode(final ByteBuffer buffer, final ValueEntry entry)
+            {
+                ValueEntry.CODEC.decode(buffer, entry);
+            }
+        };
+        JournalingEventHandler<ValueEntry> handler = new JournalingEventHandler<>(directory, SEGMENT_SIZE, codec);
+
+        handler.onEvent(entry(0L, 10L), 0L);
+        try
+        {
+            handler.onEvent(entry(1L, 0L), 1L);
+            Assert.fail("entry encoded to zero bytes should be rejected");
+        }
+        catch (final IllegalArgumentException expected)
+        {
+            Assert.assertEquals(0L, handler.getLastJournaledSequence());
+        }
+        handler.onEvent(entry(1L, 11L), 1L);
+        handler.onEndOfBatch();
+        handler.onCompletion();
+
+        handler = new JournalingEventHandler<>(directory, SEGMENT_SIZE, ValueEntry.CODEC);
+        Assert.assertEquals(1L, handler.getLastJournaledSequence());
+        handler.onCompletion();
+    }
+
+    private static BatchEventConsumer<ValueEntry> newConsumer(final JournalingEventHandler<ValueEntry> handler)
+    {
+        RingBuffer<ValueEntry> ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, 16);
+        return new BatchEventConsumer<>(ringBuffer.createBarrier(), handler);
+    }
+
+    private static ValueEntry entry(final long sequence, final long value)
+    {
+        ValueEntry entry = new ValueEntry();
+        entry.setSequence(sequence, null);
+        entry.setValue(value);
+        return entry;
+    }
+
+    private static ByteBuffer read(final File segment) throws IOException
+    {
+        return ByteBuffer.wrap(Files.readAllBytes(segment.toPath()));
+    }
+}
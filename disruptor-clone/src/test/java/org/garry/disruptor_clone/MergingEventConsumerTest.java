@@ -0,0 +1,188 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.DaemonThreadFactory;
+import org.garry.disruptor_clone.support.ValueEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public final class MergingEventConsumerTest {
+
+    private static final int PRODUCERS = 3;
+    private static final int EVENTS_PER_PRODUCER = 5000;
+    private static final long PRODUCER_MULTIPLIER = 1000000L;
+
+    @Test
+    public void shouldMergeLanesPreservingOrderWithinEachLane() throws Exception
+    {
+        final long[] lastValues = new long[PRODUCERS];
+        final boolean[] outOfOrder = new boolean[1];
+        final long[] lastMergedSequence = {RingBuffer.INITIAL_CURSOR_VALUE};
+        final List<Integer> batchSizes = new ArrayList<>();
+        final int[] eventsInBatch = new int[1];
+
+        final MergingEventConsumer<ValueEntry> consumer =
+            new MergingEventConsumer<>(ValueEntry.FACTORY, 64, 8, new SequencedEventHandler<ValueEntry>()
+            {
+                @Override
+                public void onEvent(final ValueEntry entry, final long sequence)
+                {
+                    final int producer = (int) (entry.getValue() / PRODUCER_MULTIPLIER);
+                    final long value = entry.getValue() % PRODUCER_MULTIPLIER;
+                    if (value != lastValues[producer] + 1L || sequence != lastMergedSequence[0] + 1L)
+                    {
+                        outOfOrder[0] = true;
+                    }
+                    lastValues[producer] = value;
+                    lastMergedSequence[0] = sequence;
+                    eventsInBatch[0]++;
+                }
+
+                @Override
+                public void onEndOfBatch()
+                {
+                    batchSizes.add(Integer.valueOf(eventsInBatch[0]));
+                    eventsInBatch[0] = 0;
+                }
+
+                @Override
+                public void onCompletion()
+                {
+                }
+            });
+
+        final ExecutorService executor = Executors.newCachedThreadPool(new DaemonThreadFactory());
+        executor.execute(consumer);
+
+        final List<Future<?>> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++)
+        {
+            lastValues[p] = 0L;
+            final long producer = p;
+            final SlotClaimer<ValueEntry> slotClaimer = consumer.registerProducer();
+            producers.add(executor.submit(() ->
+            {
+                for (long i = 1; i <= EVENTS_PER_PRODUCER; i++)
+                {
+                    slotClaimer.publishEvent((entry, value) -> entry.setValue(value.longValue()),
+                                             Long.valueOf(producer * PRODUCER_MULTIPLIER + i));
+                }
+            }));
+        }
+        Assert.assertEquals(PRODUCERS, consumer.getLaneCount());
+
+        for (Future<?> producer : producers)
+        {
+            producer.get();
+        }
+
+        final long expectedSequence = PRODUCERS * EVENTS_PER_PRODUCER - 1L;
+        final long deadline = System.currentTimeMillis() + 10000L;
+        while (consumer.getSequence() < expectedSequence && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(1);
+        }
+        consumer.halt();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+
+        Assert.assertEquals(expectedSequence, consumer.getSequence());
+        Assert.assertFalse(outOfOrder[0]);
+        for (int p = 0; p < PRODUCERS; p++)
+        {
+            Assert.assertEquals(EVENTS_PER_PRODUCER, lastValues[p]);
+        }
+        for (Integer batchSize : batchSizes)
+        {
+            Assert.assertTrue(batchSize.intValue() <= PRODUCERS * 8);
+        }
+    }
+
+    @Test
+    public void shouldGateProducerOnItsOwnLane()
+    {
+        MergingEventConsumer<ValueEntry> consumer =
+            new MergingEventConsumer<>(ValueEntry.FACTORY, 16, 4, new EventHandler<ValueEntry>()
+            {
+                @Override
+                public void onEvent(final ValueEntry entry)
+                {
+                }
+
+                @Override
+                public void onEndOfBatch()
+                {
+                }
+
+                @Override
+                public void onCompletion()
+                {
+                }
+            });
+
+        SlotClaimer<ValueEntry> full = consumer.registerProducer();
+        SlotClaimer<ValueEntry> empty = consumer.registerProducer();
+        for (int i = 0; i < 16; i++)
+        {
+            full.publish(full.next());
+        }
+
+        Assert.assertEquals(-1L, full.tryNext());
+        Assert.assertEquals(0L, empty.tryNext());
+    }
+
+    @Test
+    public void shouldDrainRemainingLanesAfterProducerIsUnregistered() throws Exception
+    {
+        final List<Long> values = new ArrayList<>();
+        final MergingEventConsumer<ValueEntry> consumer =
+            new MergingEventConsumer<>(ValueEntry.FACTORY, 16, 4, new EventHandler<ValueEntry>()
+            {
+                @Override
+                public void onEvent(final ValueEntry entry)
+                {
+                    values.add(Long.valueOf(entry.getValue()));
+                }
+
+                @Override
+                public void onEndOfBatch()
+                {
+                }
+
+                @Override
+                public void onCompletion()
+                {
+                }
+            });
+
+        SlotClaimer<ValueEntry> removed = consumer.registerProducer();
+        SlotClaimer<ValueEntry> kept = consumer.registerProducer();
+
+        Assert.assertTrue(consumer.unregisterProducer(removed));
+        Assert.assertFalse(consumer.unregisterProducer(removed));
+        Assert.assertEquals(1, consumer.getLaneCount());
+
+        removed.publishEvent(entry -> entry.setValue(1L));
+        kept.publishEvent(entry -> entry.setValue(2L));
+
+        Thread thread = new DaemonThreadFactory().newThread(consumer);
+        thread.start();
+        final long deadline = System.currentTimeMillis() + 10000L;
+        while (consumer.getSequence() < 0L && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(1);
+        }
+        consumer.halt();
+        thread.join(5000);
+
+        Assert.assertEquals(0L, consumer.getSequence());
+        Assert.assertEquals(Collections.singletonList(Long.valueOf(2L)), values);
+    }
+}
@@ -0,0 +1,93 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.DaemonThreadFactory;
+import org.garry.disruptor_clone.support.TestEntry;
+import org.garry.disruptor_clone.support.TestEventConsumer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public final class ProgressiveBackoffSlotClaimerTest {
+
+    @Test
+    public void shouldClaimFirstSlot()
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 100);
+        TestEventConsumer eventConsumer = new TestEventConsumer(0);
+
+        SlotClaimer<TestEntry> slotClaimer = new ProgressiveBackoffSlotClaimer<>(0, ringBuffer, eventConsumer);
+
+        Assert.assertEquals(0L, slotClaimer.next());
+    }
+
+    @Test
+    public void shouldNotClaimFromTryNextWhenFull()
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 16);
+        TestEventConsumer eventConsumer = new TestEventConsumer(-1);
+
+        SlotClaimer<TestEntry> slotClaimer = new ProgressiveBackoffSlotClaimer<>(0, ringBuffer, eventConsumer);
+        fill(slotClaimer, ringBuffer.getCapacity());
+
+        Assert.assertEquals(-1L, slotClaimer.tryNext());
+        Assert.assertNull(slotClaimer.tryNext(new SequenceBatch(1)));
+
+        eventConsumer.setSequence(1);
+
+        Assert.assertNull(slotClaimer.tryNext(new SequenceBatch(3)));
+        SequenceBatch sequenceBatch = slotClaimer.tryNext(new SequenceBatch(2));
+        Assert.assertEquals(16L, sequenceBatch.getStart());
+        Assert.assertEquals(17L, sequenceBatch.getEnd());
+        Assert.assertEquals(-1L, slotClaimer.tryNext());
+    }
+
+    @Test
+    public void shouldNotClaimWhenTimeoutExpiresWhileFull()
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 16);
+        TestEventConsumer eventConsumer = new TestEventConsumer(-1);
+
+        SlotClaimer<TestEntry> slotClaimer = new ProgressiveBackoffSlotClaimer<>(0, ringBuffer, eventConsumer);
+        fill(slotClaimer, ringBuffer.getCapacity());
+
+        long start = System.nanoTime();
+        Assert.assertEquals(-1L, slotClaimer.next(10, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(10));
+
+        eventConsumer.setSequence(0);
+
+        Assert.assertNull(slotClaimer.next(new SequenceBatch(2), 10, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(16L, slotClaimer.next(new SequenceBatch(1), 10, TimeUnit.MILLISECONDS).getEnd());
+    }
+
+    @Test
+    public void shouldClaimWithinTimeoutWhenConsumerCatchesUp() throws Exception
+    {
+        final RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 16);
+        final TestEventConsumer eventConsumer = new TestEventConsumer(-1);
+
+        final SlotClaimer<TestEntry> slotClaimer = new ProgressiveBackoffSlotClaimer<>(0, ringBuffer, eventConsumer);
+        fill(slotClaimer, ringBuffer.getCapacity());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory());
+        Future<Long> future = executor.submit(() -> slotClaimer.next(5, TimeUnit.SECONDS));
+
+        Thread.sleep(50);
+        eventConsumer.setSequence(0);
+
+        Assert.assertEquals(Long.valueOf(16L), future.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    private static void fill(final SlotClaimer<TestEntry> slotClaimer, final int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            slotClaimer.publish(slotClaimer.next());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.TestEntry;
+import org.garry.disruptor_clone.support.TestEventConsumer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.concurrent.TimeUnit;
+
+public final class RingBufferMetricsTest {
+
+    @Test
+    public void shouldReportLagAndOccupancy()
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 16);
+        TestEventConsumer fast = new TestEventConsumer(8L);
+        TestEventConsumer slow = new TestEventConsumer(2L);
+        RingBufferMetrics metrics = new RingBufferMetrics(ringBuffer)
+            .addEventConsumer("fast", fast)
+            .addEventConsumer("slow", slow);
+
+        for (int i = 0; i < 10; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        Assert.assertEquals(9L, metrics.getCursor());
+        Assert.assertEquals(7L, metrics.getOccupancy());
+        Assert.assertArrayEquals(new String[] {"fast", "slow"}, metrics.getEventConsumerNames());
+        Assert.assertArrayEquals(new long[] {1L, 7L}, metrics.getEventConsumerLags());
+    }
+
+    @Test
+    public void shouldRecordWaitTimeOnlyWhenClaimHasToWait()
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 16);
+        BusySpinSlotClaimer<TestEntry> slotClaimer = new BusySpinSlotClaimer<>(0, ringBuffer, new TestEventConsumer(-1L));
+        Histogram waitTimes = new Histogram();
+        slotClaimer.setWaitTimeHistogram(waitTimes);
+
+        for (int i = 0; i < ringBuffer.getCapacity(); i++)
+        {
+            slotClaimer.publish(slotClaimer.next());
+        }
+        Assert.assertEquals(0L, waitTimes.getCount());
+
+        Assert.assertEquals(-1L, slotClaimer.next(1, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(1L, waitTimes.getCount());
+        Assert.assertTrue(waitTimes.getMax() >= TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    public void shouldRegisterAndUnregisterMBeans() throws Exception
+    {
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 16);
+        Histogram batchSizes = new Histogram();
+        batchSizes.record(4L);
+        RingBufferMetrics metrics = new RingBufferMetrics(ringBuffer)
+            .addEventConsumer("consumer", new TestEventConsumer(-1L))
+            .addHistogram("batchSizes", batchSizes);
+
+        metrics.register(mBeanServer, "disruptor");
+
+        Assert.assertEquals(16, mBeanServer.getAttribute(new ObjectName("disruptor:type=RingBuffer"), "Capacity"));
+        Assert.assertEquals(1L, mBeanServer.getAttribute(
+            new ObjectName("disruptor:type=Histogram,name=\"batchSizes\""), "Count"));
+
+        metrics.unregister(mBeanServer);
+        Assert.assertFalse(mBeanServer.isRegistered(new ObjectName("disruptor:type=RingBuffer")));
+    }
+}
@@ -0,0 +1,166 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.DaemonThreadFactory;
+import org.garry.disruptor_clone.support.ValueEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public final class RingBufferPublisherTest {
+
+    @Test
+    public void shouldOnlyConsumeAsFarAsDemand() throws Exception
+    {
+        RingBuffer<ValueEntry> ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, 16);
+        RingBufferPublisher<ValueEntry> publisher = new RingBufferPublisher<>(ringBuffer.createBarrier());
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        for (long i = 0; i < 10; i++)
+        {
+            ringBuffer.publishEvent((entry, value) -> entry.setValue(value.longValue()), Long.valueOf(i));
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory());
+        executor.submit(publisher);
+
+        subscriber.subscription.request(3);
+        waitForValues(subscriber, 3);
+        Thread.sleep(10);
+        Assert.assertEquals(3, subscriber.values.size());
+        Assert.assertEquals(2L, publisher.getSequence());
+        Assert.assertEquals(0L, publisher.getDemand());
+
+        subscriber.subscription.request(7);
+        waitForValues(subscriber, 10);
+        Assert.assertEquals(9L, publisher.getSequence());
+
+        publisher.halt();
+        Assert.assertTrue(subscriber.completed.await(1, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertEquals(Long.valueOf(i), subscriber.values.get(i));
+        }
+    }
+
+    @Test
+    public void shouldRejectSecondSubscriber()
+    {
+        RingBuffer<ValueEntry> ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, 16);
+        RingBufferPublisher<ValueEntry> publisher = new RingBufferPublisher<>(ringBuffer.createBarrier());
+        publisher.subscribe(new RecordingSubscriber());
+
+        RecordingSubscriber second = new RecordingSubscriber();
+        publisher.subscribe(second);
+
+        Assert.assertTrue(second.error instanceof IllegalStateException);
+    }
+
+    @Test
+    public void shouldCancelAndSignalErrorWhenOnNextThrows() throws Exception
+    {
+        RingBuffer<ValueEntry> ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, 16);
+        RingBufferPublisher<ValueEntry> publisher = new RingBufferPublisher<>(ringBuffer.createBarrier());
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        subscriber.failOn = 1L;
+        publisher.subscribe(subscriber);
+
+        for (long i = 0; i < 5; i++)
+        {
+            ringBuffer.publishEvent((entry, value) -> entry.setValue(value.longValue()), Long.valueOf(i));
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory());
+        Future<?> future = executor.submit(publisher);
+        subscriber.subscription.request(5);
+
+        future.get(1, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        Assert.assertTrue(subscriber.error instanceof IllegalStateException);
+        Assert.assertEquals(1, subscriber.values.size());
+        Assert.assertEquals(1L, publisher.getSequence());
+        Assert.assertEquals(1L, subscriber.completed.getCount());
+    }
+
+    @Test
+    public void shouldStopOnCancelWithoutAlertingSharedBarrier() throws Exception
+    {
+        RingBuffer<ValueEntry> ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, 16);
+        ThresholdBarrier<ValueEntry> barrier = ringBuffer.createBarrier();
+        RingBufferPublisher<ValueEntry> publisher = new RingBufferPublisher<>(barrier);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory());
+        Future<?> future = executor.submit(publisher);
+        subscriber.subscription.request(1);
+        Thread.sleep(10);
+
+        subscriber.subscription.cancel();
+        future.get(1, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        barrier.checkForAlert();
+        Assert.assertNull(subscriber.error);
+        Assert.assertEquals(1L, subscriber.completed.getCount());
+    }
+
+    private static void waitForValues(final RecordingSubscriber subscriber, final int count) throws InterruptedException
+    {
+        final long deadline = System.currentTimeMillis() + 1000L;
+        while (subscriber.values.size() < count && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(1);
+        }
+        Assert.assertEquals(count, subscriber.values.size());
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<ValueEntry>
+    {
+        private final List<Long> values = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+        private volatile long failOn = -1L;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription)
+        {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final ValueEntry entry)
+        {
+            if (entry.getValue() == failOn)
+            {
+                throw new IllegalStateException("failing on " + failOn);
+            }
+            values.add(Long.valueOf(entry.getValue()));
+        }
+
+        @Override
+        public void onError(final Throwable throwable)
+        {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete()
+        {
+            completed.countDown();
+        }
+    }
+}
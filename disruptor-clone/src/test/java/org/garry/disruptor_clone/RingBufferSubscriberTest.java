@@ -0,0 +1,171 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.DaemonThreadFactory;
+import org.garry.disruptor_clone.support.TestEventConsumer;
+import org.garry.disruptor_clone.support.ValueEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+public final class RingBufferSubscriberTest {
+
+    private static final EventTranslatorOneArg<ValueEntry, Long> TRANSLATOR =
+        (entry, value) -> entry.setValue(value.longValue());
+
+    @Test
+    public void shouldOnlyRequestFreeCapacity()
+    {
+        RingBuffer<ValueEntry> ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, 16);
+        TestEventConsumer eventConsumer = new TestEventConsumer(-1);
+        SlotClaimer<ValueEntry> slotClaimer = new YieldingSlotClaimer<>(0, ringBuffer, eventConsumer);
+        RingBufferSubscriber<ValueEntry, Long> subscriber = new RingBufferSubscriber<>(slotClaimer, TRANSLATOR);
+        final long[] requested = new long[1];
+
+        subscriber.onSubscribe(new Flow.Subscription()
+        {
+            @Override
+            public void request(final long n)
+            {
+                requested[0] += n;
+            }
+
+            @Override
+            public void cancel()
+            {
+            }
+        });
+        Assert.assertEquals(16L, requested[0]);
+
+        for (long i = 0; i < 16; i++)
+        {
+            subscriber.onNext(Long.valueOf(i));
+        }
+        Assert.assertEquals(15L, ringBuffer.getCursor());
+        Assert.assertEquals(0L, subscriber.getOutstanding());
+        Assert.assertEquals(16L, requested[0]);
+
+        eventConsumer.setSequence(4L);
+        subscriber.replenish();
+        Assert.assertEquals(21L, requested[0]);
+        Assert.assertEquals(5L, subscriber.getOutstanding());
+    }
+
+    @Test
+    public void shouldPublishAllItemsThroughSmallRing() throws Exception
+    {
+        final int items = 1000;
+        RingBuffer<ValueEntry> ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, 16);
+        final RingBufferSubscriber<ValueEntry, Long>[] subscriber = new RingBufferSubscriber[1];
+        final CountDownLatch done = new CountDownLatch(1);
+        final long[] expected = new long[1];
+
+        BatchEventConsumer<ValueEntry> consumer = new BatchEventConsumer<>(ringBuffer.createBarrier(),
+            new EventHandler<ValueEntry>()
+            {
+                @Override
+                public void onEvent(final ValueEntry entry)
+                {
+                    if (entry.getValue() == expected[0])
+                    {
+                        expected[0]++;
+                    }
+                    if (items == expected[0])
+                    {
+                        done.countDown();
+                    }
+                }
+
+                @Override
+                public void onEndOfBatch()
+                {
+                    subscriber[0].replenish();
+                }
+
+                @Override
+                public void onCompletion()
+                {
+                }
+            });
+        subscriber[0] = new RingBufferSubscriber<>(new YieldingSlotClaimer<>(0, ringBuffer, consumer), TRANSLATOR);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory());
+        executor.submit(consumer);
+
+        SubmissionPublisher<Long> publisher = new SubmissionPublisher<>();
+        publisher.subscribe(subscriber[0]);
+        for (long i = 0; i < items; i++)
+        {
+            publisher.submit(Long.valueOf(i));
+        }
+        publisher.close();
+
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        consumer.halt();
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldReplenishFromGatingConsumerProgressOnceRingIsFull() throws Exception
+    {
+        final int items = 1000;
+        RingBuffer<ValueEntry> ringBuffer = new RingBuffer<>(ValueEntry.FACTORY, 16);
+        final CountDownLatch done = new CountDownLatch(1);
+        final long[] expected = new long[1];
+
+        BatchEventConsumer<ValueEntry> consumer = new BatchEventConsumer<>(ringBuffer.createBarrier(),
+            new EventHandler<ValueEntry>()
+            {
+                @Override
+                public void onEvent(final ValueEntry entry)
+                {
+                    if (entry.getValue() == expected[0])
+                    {
+                        expected[0]++;
+                    }
+                    if (items == expected[0])
+                    {
+                        done.countDown();
+                    }
+                }
+
+                @Override
+                public void onEndOfBatch()
+                {
+                }
+
+                @Override
+                public void onCompletion()
+                {
+                }
+            });
+        RingBufferSubscriber<ValueEntry, Long> subscriber =
+            new RingBufferSubscriber<>(new YieldingSlotClaimer<>(0, ringBuffer, consumer), TRANSLATOR, consumer);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory());
+        executor.submit(consumer);
+
+        SubmissionPublisher<Long> publisher = new SubmissionPublisher<>();
+        publisher.subscribe(subscriber);
+        for (long i = 0; i < items; i++)
+        {
+            publisher.submit(Long.valueOf(i));
+        }
+        publisher.close();
+
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!subscriber.isDone() && System.nanoTime() < timeout)
+        {
+            Thread.yield();
+        }
+        Assert.assertTrue(subscriber.isDone());
+        consumer.halt();
+        executor.shutdown();
+    }
+}
@@ -3,6 +3,7 @@ package org.garry.disruptor_clone;
 import org.garry.disruptor_clone.support.DaemonThreadFactory;
 import org.garry.disruptor_clone.support.ReadingCallable;
 import org.garry.disruptor_clone.support.StubEntry;
+import org.garry.disruptor_clone.support.TestEventConsumer;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -10,6 +11,7 @@ import java.util.List;
 import java.util.concurrent.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class RingBufferTest {
 
@@ -140,6 +142,179 @@ public class RingBufferTest {
     }
 
 
+    @Test
+    public void shouldOnlyAdvanceCursorOverContiguousCommitsWithAvailabilityStrategy()
+    {
+        RingBuffer<StubEntry> ringBuffer = new RingBuffer<>(StubEntry.FACTORY, 4,
+                SequenceClaimThreadingStrategy.MULTI_THREADED_AVAILABILITY);
+        EntryClaimer<StubEntry> entryClaimer = new EntryClaimer<>(ringBuffer);
+
+        StubEntry first = entryClaimer.claimNext();
+        StubEntry second = entryClaimer.claimNext();
+        StubEntry third = entryClaimer.claimNext();
+
+        third.commit();
+        second.commit();
+        assertEquals(RingBuffer.INITIAL_CURSOR_VALUE, ringBuffer.getCursor());
+
+        first.commit();
+        assertEquals(2L, ringBuffer.getCursor());
+    }
+
+    @Test
+    public void shouldTrackClaimedSequenceAheadOfCursor()
+    {
+        for (SequenceClaimThreadingStrategy strategy : SequenceClaimThreadingStrategy.values())
+        {
+            RingBuffer<StubEntry> ringBuffer = new RingBuffer<>(StubEntry.FACTORY, 4, strategy);
+            EntryClaimer<StubEntry> entryClaimer = new EntryClaimer<>(ringBuffer);
+            assertEquals(RingBuffer.INITIAL_CURSOR_VALUE, ringBuffer.getClaimedSequence());
+
+            StubEntry entry = entryClaimer.claimNext();
+            assertEquals(0L, ringBuffer.getClaimedSequence());
+            assertEquals(RingBuffer.INITIAL_CURSOR_VALUE, ringBuffer.getCursor());
+
+            entry.commit();
+            assertEquals(0L, ringBuffer.getClaimedSequence());
+            assertEquals(0L, ringBuffer.getCursor());
+        }
+    }
+
+    @Test
+    public void shouldPublishFromConcurrentProducersWithAvailabilityStrategy() throws Exception
+    {
+        final int producers = 4;
+        final int iterations = 10000;
+        final RingBuffer<StubEntry> ringBuffer = new RingBuffer<>(StubEntry.FACTORY, producers * iterations,
+                SequenceClaimThreadingStrategy.MULTI_THREADED_AVAILABILITY);
+        final EntryClaimer<StubEntry> entryClaimer = new EntryClaimer<>(ringBuffer);
+        final CyclicBarrier start = new CyclicBarrier(producers);
+
+        Thread[] threads = new Thread[producers];
+        for (int i = 0; i < producers; i++)
+        {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try
+                    {
+                        start.await();
+                    }
+                    catch (Exception e)
+                    {
+                        return;
+                    }
+                    for (int j = 0; j < iterations; j++)
+                    {
+                        StubEntry entry = entryClaimer.claimNext();
+                        entry.setValue((int) entry.getSequence());
+                        entry.commit();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+
+        long expectedSequence = producers * iterations - 1;
+        assertEquals(expectedSequence, ringBuffer.createBarrier().waitFor(expectedSequence, 10, TimeUnit.SECONDS));
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        for (int i = 0; i < producers * iterations; i++)
+        {
+            assertEquals(i, ringBuffer.get(i).getValue());
+        }
+    }
+
+    @Test
+    public void shouldClaimAndCommitBatch() throws AlertException, InterruptedException
+    {
+        for (SequenceClaimThreadingStrategy strategy : SequenceClaimThreadingStrategy.values())
+        {
+            RingBuffer<StubEntry> ringBuffer = new RingBuffer<>(StubEntry.FACTORY, 20, strategy);
+            EntryClaimer<StubEntry> entryClaimer = new EntryClaimer<>(ringBuffer);
+            ThresholdBarrier<StubEntry> barrier = ringBuffer.createBarrier();
+            SequenceBatch sequenceBatch = new SequenceBatch(5);
+
+            ringBuffer.publish(ringBuffer.next());
+            entryClaimer.claimNext(sequenceBatch);
+            assertEquals(1L, sequenceBatch.getStart());
+            assertEquals(5L, sequenceBatch.getEnd());
+
+            for (long sequence = sequenceBatch.getStart(); sequence <= sequenceBatch.getEnd(); sequence++)
+            {
+                StubEntry entry = ringBuffer.get(sequence);
+                assertEquals(sequence, entry.getSequence());
+                entry.setValue((int) sequence);
+            }
+            assertEquals(0L, ringBuffer.getCursor());
+
+            entryClaimer.commit(sequenceBatch);
+            assertEquals(5L, barrier.waitFor(1));
+            assertEquals(6L, entryClaimer.claimNext().getSequence());
+        }
+    }
+
+    @Test
+    public void shouldPublishPlainEventsBySequence() throws AlertException, InterruptedException
+    {
+        for (SequenceClaimThreadingStrategy strategy : SequenceClaimThreadingStrategy.values())
+        {
+            RingBuffer<long[]> ringBuffer = new RingBuffer<>(() -> new long[1], 8, strategy);
+            ThresholdBarrier<long[]> barrier = ringBuffer.createBarrier();
+
+            long sequence = ringBuffer.next();
+            ringBuffer.get(sequence)[0] = 2701L;
+            assertEquals(RingBuffer.INITIAL_CURSOR_VALUE, ringBuffer.getCursor());
+            ringBuffer.publish(sequence);
+            assertEquals(0L, barrier.waitFor(0));
+            assertEquals(2701L, ringBuffer.get(0)[0]);
+
+            SequenceBatch sequenceBatch = ringBuffer.next(new SequenceBatch(3));
+            for (long i = sequenceBatch.getStart(); i <= sequenceBatch.getEnd(); i++)
+            {
+                ringBuffer.get(i)[0] = i;
+            }
+            ringBuffer.publish(sequenceBatch);
+            assertEquals(3L, barrier.waitFor(1));
+            assertEquals(3L, ringBuffer.get(3)[0]);
+        }
+    }
+
+    @Test
+    public void shouldClaimFollowingSequenceAfterReset() throws AlertException, InterruptedException
+    {
+        ringBuffer.resetTo(41L);
+        assertEquals(41L, ringBuffer.getCursor());
+
+        long sequence = ringBuffer.next();
+        assertEquals(42L, sequence);
+        ringBuffer.publish(sequence);
+        assertEquals(42L, barrier.waitFor(42L));
+    }
+
+    @Test
+    public void shouldWaitOnDependentConsumersAddedAndRemovedWhileRunning()
+    {
+        for (int i = 0; i < 4; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        TestEventConsumer eventConsumer = new TestEventConsumer(-7);
+        barrier.addEventConsumers(eventConsumer);
+        assertEquals(3L, eventConsumer.getSequence());
+
+        ringBuffer.publish(ringBuffer.next());
+        ringBuffer.publish(ringBuffer.next());
+        assertEquals(3L, barrier.getProcessedEventSequence());
+
+        assertTrue(barrier.removeEventConsumer(eventConsumer));
+        assertEquals(5L, barrier.getProcessedEventSequence());
+    }
+
     private Future<List<StubEntry>> getMessages(final int initial, int toWaitFor)
             throws BrokenBarrierException, InterruptedException {
         final CyclicBarrier barrier = new CyclicBarrier(2);
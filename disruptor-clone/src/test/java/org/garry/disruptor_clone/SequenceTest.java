@@ -0,0 +1,47 @@
+package org.garry.disruptor_clone;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class SequenceTest {
+
+    @Test
+    public void shouldStartAtInitialCursorValue()
+    {
+        Assert.assertEquals(RingBuffer.INITIAL_CURSOR_VALUE, new Sequence().get());
+        Assert.assertEquals(7L, new Sequence(7L).get());
+    }
+
+    @Test
+    public void shouldSetAndLazySet()
+    {
+        Sequence sequence = new Sequence();
+
+        sequence.set(3L);
+        Assert.assertEquals(3L, sequence.get());
+
+        sequence.lazySet(4L);
+        Assert.assertEquals(4L, sequence.get());
+    }
+
+    @Test
+    public void shouldOnlyCompareAndSetFromExpectedValue()
+    {
+        Sequence sequence = new Sequence(5L);
+
+        Assert.assertFalse(sequence.compareAndSet(4L, 6L));
+        Assert.assertEquals(5L, sequence.get());
+
+        Assert.assertTrue(sequence.compareAndSet(5L, 6L));
+        Assert.assertEquals(6L, sequence.get());
+    }
+
+    @Test
+    public void shouldIncrementAndAdd()
+    {
+        Sequence sequence = new Sequence(0L);
+
+        Assert.assertEquals(1L, sequence.incrementAndGet());
+        Assert.assertEquals(11L, sequence.addAndGet(10L));
+    }
+}
@@ -0,0 +1,153 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.DaemonThreadFactory;
+import org.garry.disruptor_clone.support.ValueEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public final class ShardedRingBufferTest {
+
+    private static final int SHARDS = 4;
+    private static final int PRODUCERS = 3;
+    private static final int KEYS_PER_PRODUCER = 8;
+    private static final int EVENTS_PER_KEY = 100;
+    private static final long KEY_MULTIPLIER = 1000000L;
+
+    @Test
+    public void shouldRouteByKeyAndPreserveOrderPerKey() throws Exception
+    {
+        final ExecutorService executor = Executors.newCachedThreadPool(new DaemonThreadFactory());
+        final AtomicLong handled = new AtomicLong();
+        final boolean[] outOfOrder = new boolean[1];
+        final int[] handledShardForKey = new int[PRODUCERS * KEYS_PER_PRODUCER];
+
+        final ShardedRingBuffer<ValueEntry> shardedRingBuffer =
+            new ShardedRingBuffer<>(SHARDS, PRODUCERS, ValueEntry.FACTORY, 64, executor, WaitStrategyOption.YIELDING,
+                                    (shard, disruptor) -> disruptor.handleEventsWith(new EventHandler<ValueEntry>()
+                                    {
+                                        private final Map<Long, Long> lastCounters = new HashMap<>();
+
+                                        @Override
+                                        public void onEvent(final ValueEntry entry)
+                                        {
+                                            final Long key = Long.valueOf(entry.getValue() / KEY_MULTIPLIER);
+                                            final long counter = entry.getValue() % KEY_MULTIPLIER;
+                                            final Long last = lastCounters.put(key, Long.valueOf(counter));
+                                            if (null == last ? 0L != counter : last.longValue() + 1L != counter)
+                                            {
+                                                outOfOrder[0] = true;
+                                            }
+                                            handledShardForKey[key.intValue()] = shard;
+                                            handled.incrementAndGet();
+                                        }
+
+                                        @Override
+                                        public void onEndOfBatch()
+                                        {
+                                        }
+
+                                        @Override
+                                        public void onCompletion()
+                                        {
+                                        }
+                                    }));
+        final EventTranslatorTwoArg<ValueEntry, Long, Long> translator =
+            (entry, key, counter) -> entry.setValue(key.longValue() * KEY_MULTIPLIER + counter.longValue());
+
+        shardedRingBuffer.start();
+
+        final CountDownLatch producersDone = new CountDownLatch(PRODUCERS);
+        for (int p = 0; p < PRODUCERS; p++)
+        {
+            final int producer = p;
+            executor.execute(() ->
+            {
+                for (long counter = 0; counter < EVENTS_PER_KEY; counter++)
+                {
+                    for (int k = 0; k < KEYS_PER_PRODUCER; k++)
+                    {
+                        final Long key = Long.valueOf(producer * KEYS_PER_PRODUCER + k);
+                        shardedRingBuffer.publishEvent(key, translator, key, Long.valueOf(counter));
+                    }
+                }
+                producersDone.countDown();
+            });
+        }
+
+        final long expected = (long) PRODUCERS * KEYS_PER_PRODUCER * EVENTS_PER_KEY;
+        Assert.assertTrue(producersDone.await(10, TimeUnit.SECONDS));
+        final long deadline = System.currentTimeMillis() + 10000L;
+        while (handled.get() < expected && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(1);
+        }
+
+        Assert.assertEquals(expected, handled.get());
+        Assert.assertFalse(outOfOrder[0]);
+        for (int key = 0; key < handledShardForKey.length; key++)
+        {
+            Assert.assertEquals(shardedRingBuffer.getShard(Long.valueOf(key)), handledShardForKey[key]);
+        }
+
+        ShardedRingBufferMetrics metrics = shardedRingBuffer.createMetrics();
+        Assert.assertEquals(SHARDS, metrics.getShardCount());
+        Assert.assertEquals(SHARDS * 64L, metrics.getCapacity());
+        Assert.assertEquals(expected, metrics.getPublishedCount());
+        Assert.assertEquals(0L, metrics.getOccupancy());
+
+        shardedRingBuffer.halt();
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldRegisterAggregateAndShardMetrics() throws Exception
+    {
+        ShardedRingBuffer<ValueEntry> shardedRingBuffer =
+            new ShardedRingBuffer<>(2, 1, ValueEntry.FACTORY, 16, command -> {}, WaitStrategyOption.YIELDING,
+                                    (shard, disruptor) -> {});
+        ShardedRingBufferMetrics metrics = shardedRingBuffer.createMetrics();
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        metrics.register(mBeanServer, "test.sharded");
+        try
+        {
+            Assert.assertTrue(mBeanServer.isRegistered(new ObjectName("test.sharded:type=ShardedRingBuffer")));
+            Assert.assertTrue(mBeanServer.isRegistered(new ObjectName("test.sharded.shard1:type=RingBuffer")));
+        }
+        finally
+        {
+            metrics.unregister(mBeanServer);
+        }
+
+        Assert.assertFalse(mBeanServer.isRegistered(new ObjectName("test.sharded.shard0:type=RingBuffer")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNoReserveForMultiThreadedShards()
+    {
+        new ShardedRingBuffer<>(2, 0, ValueEntry.FACTORY, 16, command -> {}, WaitStrategyOption.YIELDING,
+                                (shard, disruptor) -> {});
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotPublishBeforeStarted()
+    {
+        ShardedRingBuffer<ValueEntry> shardedRingBuffer =
+            new ShardedRingBuffer<>(2, 1, ValueEntry.FACTORY, 16, command -> {}, WaitStrategyOption.YIELDING,
+                                    (shard, disruptor) -> {});
+
+        shardedRingBuffer.publishEvent("key", entry -> entry.setValue(1L));
+    }
+}
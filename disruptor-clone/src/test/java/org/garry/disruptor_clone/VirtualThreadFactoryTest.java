@@ -0,0 +1,69 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.TestEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public final class VirtualThreadFactoryTest {
+
+    @Test
+    public void shouldUseVirtualThreadsOnlyWhenSupported()
+    {
+        Assert.assertEquals(VirtualThreadFactory.isVirtualThreadSupported(), new VirtualThreadFactory().isVirtual());
+        Assert.assertFalse(new VirtualThreadFactory(false).isVirtual());
+    }
+
+    @Test
+    public void shouldCreateDaemonPlatformThreadsWhenNotPreferringVirtual()
+    {
+        Thread thread = new VirtualThreadFactory(false).newThread(() -> {});
+
+        Assert.assertTrue(thread.isDaemon());
+    }
+
+    @Test
+    public void shouldRunParkingConsumersOnFactoryThreads() throws Exception
+    {
+        VirtualThreadFactory executor = new VirtualThreadFactory();
+        Disruptor<TestEntry> disruptor = new Disruptor<>(TestEntry.FACTORY, 16, executor,
+                                                         SequenceClaimThreadingStrategy.SINGLE_THREAD,
+                                                         WaitStrategyOption.PARKING);
+        EventHandlerGroup<TestEntry> group = disruptor.handleEventsWith(new EventHandler<TestEntry>()
+        {
+            @Override
+            public void onEvent(final TestEntry entry)
+            {
+            }
+
+            @Override
+            public void onEndOfBatch()
+            {
+            }
+
+            @Override
+            public void onCompletion()
+            {
+            }
+        });
+        SlotClaimer<TestEntry> slotClaimer = disruptor.createSlotClaimer(0);
+        disruptor.start();
+
+        for (int i = 0; i < 100; i++)
+        {
+            slotClaimer.publish(slotClaimer.next());
+            Thread.sleep(0, 1000);
+        }
+
+        EventConsumer consumer = group.getEventConsumers()[0];
+        long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (consumer.getSequence() < 99L && System.nanoTime() < timeout)
+        {
+            Thread.yield();
+        }
+        disruptor.halt();
+
+        Assert.assertEquals(99L, consumer.getSequence());
+    }
+}
@@ -0,0 +1,159 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.StubEntry;
+import org.garry.disruptor_clone.support.TestEventConsumer;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class WaitStrategyTest {
+
+    @Test
+    public void shouldWaitForCommitFromAnotherThread() throws Exception
+    {
+        for (WaitStrategyOption option : WaitStrategyOption.values())
+        {
+            final RingBuffer<StubEntry> ringBuffer =
+                    new RingBuffer<>(StubEntry.FACTORY, 16, SequenceClaimThreadingStrategy.MULTI_THREADED, option);
+            ThresholdBarrier<StubEntry> barrier = ringBuffer.createBarrier();
+
+            Thread producer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try
+                    {
+                        Thread.sleep(20);
+                    }
+                    catch (InterruptedException e)
+                    {
+                        return;
+                    }
+                    ringBuffer.publish(ringBuffer.next());
+                }
+            });
+            producer.start();
+
+            assertEquals(option.name(), 0L, barrier.waitFor(0));
+            producer.join();
+        }
+    }
+
+    @Test
+    public void shouldReturnAvailableSequenceOnTimeout() throws Exception
+    {
+        for (WaitStrategyOption option : WaitStrategyOption.values())
+        {
+            RingBuffer<StubEntry> ringBuffer =
+                    new RingBuffer<>(StubEntry.FACTORY, 16, SequenceClaimThreadingStrategy.MULTI_THREADED, option);
+            ringBuffer.publish(ringBuffer.next());
+
+            assertEquals(option.name(), 0L, ringBuffer.createBarrier().waitFor(1, 5, TimeUnit.MILLISECONDS));
+            assertEquals(option.name(), 0L,
+                         ringBuffer.createBarrier(new TestEventConsumer(0)).waitFor(1, 5, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void shouldWaitOnDependentConsumers() throws Exception
+    {
+        for (WaitStrategyOption option : WaitStrategyOption.values())
+        {
+            RingBuffer<StubEntry> ringBuffer =
+                    new RingBuffer<>(StubEntry.FACTORY, 16, SequenceClaimThreadingStrategy.MULTI_THREADED, option);
+            for (int i = 0; i < 4; i++)
+            {
+                ringBuffer.publish(ringBuffer.next());
+            }
+
+            ThresholdBarrier<StubEntry> barrier =
+                    ringBuffer.createBarrier(new TestEventConsumer(2), new TestEventConsumer(3));
+            assertEquals(option.name(), 2L, barrier.waitFor(1));
+        }
+    }
+
+    @Test
+    public void shouldBeAlertedWhileWaiting() throws Exception
+    {
+        for (WaitStrategyOption option : WaitStrategyOption.values())
+        {
+            RingBuffer<StubEntry> ringBuffer =
+                    new RingBuffer<>(StubEntry.FACTORY, 16, SequenceClaimThreadingStrategy.MULTI_THREADED, option);
+            final ThresholdBarrier<StubEntry> barrier = ringBuffer.createBarrier();
+            final CountDownLatch alerted = new CountDownLatch(1);
+
+            Thread consumer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try
+                    {
+                        barrier.waitFor(0);
+                    }
+                    catch (AlertException e)
+                    {
+                        alerted.countDown();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        // fall through and fail on the latch
+                    }
+                }
+            });
+            consumer.start();
+            Thread.sleep(10);
+
+            barrier.alert();
+            assertTrue(option.name(), alerted.await(1, TimeUnit.SECONDS));
+            consumer.join();
+        }
+    }
+
+    @Test
+    public void shouldNotLoseWakeupsWhenOnlySignallingWaiters() throws Exception
+    {
+        final int iterations = 20000;
+        for (WaitStrategyOption option : new WaitStrategyOption[]{WaitStrategyOption.BLOCKING,
+                                                                  WaitStrategyOption.TIMEOUT_BLOCKING,
+                                                                  WaitStrategyOption.PARKING})
+        {
+            final RingBuffer<StubEntry> ringBuffer =
+                    new RingBuffer<>(StubEntry.FACTORY, 16, SequenceClaimThreadingStrategy.MULTI_THREADED, option);
+            final ThresholdBarrier<StubEntry> barrier = ringBuffer.createBarrier();
+            final CountDownLatch done = new CountDownLatch(1);
+
+            Thread consumer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try
+                    {
+                        for (long i = 0; i < iterations; i++)
+                        {
+                            barrier.waitFor(i);
+                        }
+                        done.countDown();
+                    }
+                    catch (Exception e)
+                    {
+                        // fall through and fail on the latch
+                    }
+                }
+            });
+            consumer.setDaemon(true);
+            consumer.start();
+
+            for (int i = 0; i < iterations; i++)
+            {
+                ringBuffer.publish(ringBuffer.next());
+                if (0 == (i & 0xFF))
+                {
+                    Thread.yield();
+                }
+            }
+
+            assertTrue(option.name(), done.await(10, TimeUnit.SECONDS));
+        }
+    }
+}
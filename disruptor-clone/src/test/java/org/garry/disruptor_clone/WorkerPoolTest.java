@@ -0,0 +1,74 @@
+package org.garry.disruptor_clone;
+
+import org.garry.disruptor_clone.support.DaemonThreadFactory;
+import org.garry.disruptor_clone.support.TestEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public final class WorkerPoolTest {
+
+    private static final int WORKERS = 3;
+    private static final int ENTRIES = 10000;
+
+    @Test
+    public void shouldHandleEachEntryByExactlyOneWorker() throws Exception
+    {
+        RingBuffer<TestEntry> ringBuffer = new RingBuffer<>(TestEntry.FACTORY, 64,
+                                                            SequenceClaimThreadingStrategy.SINGLE_THREAD,
+                                                            WaitStrategyOption.YIELDING);
+        final AtomicIntegerArray handled = new AtomicIntegerArray(ENTRIES);
+        final int[] handledPerWorker = new int[WORKERS];
+
+        @SuppressWarnings("unchecked")
+        WorkHandler<TestEntry>[] workHandlers = new WorkHandler[WORKERS];
+        for (int i = 0; i < WORKERS; i++)
+        {
+            final int worker = i;
+            workHandlers[i] = entry ->
+            {
+                handled.incrementAndGet((int) entry.getSequence());
+                handledPerWorker[worker]++;
+            };
+        }
+
+        WorkerPool<TestEntry> workerPool =
+            new WorkerPool<>(ringBuffer.createBarrier(), new FatalEventExceptionHandler(), workHandlers);
+        SlotClaimer<TestEntry> slotClaimer = new YieldingSlotClaimer<>(0, ringBuffer, workerPool.getWorkProcessors());
+
+        ExecutorService executor = Executors.newFixedThreadPool(WORKERS, new DaemonThreadFactory());
+        workerPool.start(executor);
+
+        EntryClaimer<TestEntry> entryClaimer = new EntryClaimer<>(slotClaimer);
+        for (int i = 0; i < ENTRIES; i++)
+        {
+            entryClaimer.claimNext().commit();
+        }
+
+        long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (workerPool.getSequence() < ENTRIES - 1 && System.nanoTime() < timeout)
+        {
+            Thread.yield();
+        }
+        workerPool.halt();
+        executor.shutdown();
+
+        Assert.assertEquals(ENTRIES - 1, workerPool.getSequence());
+        for (int i = 0; i < ENTRIES; i++)
+        {
+            Assert.assertEquals(1, handled.get(i));
+        }
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        int total = 0;
+        for (int count : handledPerWorker)
+        {
+            total += count;
+        }
+        Assert.assertEquals(ENTRIES, total);
+    }
+}
@@ -16,6 +16,11 @@ public final class TestEventConsumer implements EventConsumer {
         return sequence;
     }
 
+    @Override
+    public void setSequence(final long sequence) {
+        this.sequence = sequence;
+    }
+
     @Override
     public ThresholdBarrier getBarrier() {
         return null;
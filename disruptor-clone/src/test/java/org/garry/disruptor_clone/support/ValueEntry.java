@@ -0,0 +1,44 @@
+package org.garry.disruptor_clone.support;
+
+import org.garry.disruptor_clone.AbstractEntry;
+import org.garry.disruptor_clone.Factory;
+import org.garry.disruptor_clone.JournalCodec;
+
+import java.nio.ByteBuffer;
+
+public final class ValueEntry extends AbstractEntry {
+
+    private long value;
+
+    public long getValue() {
+        return value;
+    }
+
+    public void setValue(final long value) {
+        this.value = value;
+    }
+
+    public final static Factory<ValueEntry> FACTORY = new Factory<ValueEntry>() {
+        @Override
+        public ValueEntry create() {
+            return new ValueEntry();
+        }
+    };
+
+    public final static JournalCodec<ValueEntry> CODEC = new JournalCodec<ValueEntry>() {
+        @Override
+        public int encodedLength(final ValueEntry entry) {
+            return 8;
+        }
+
+        @Override
+        public void encode(final ValueEntry entry, final ByteBuffer buffer) {
+            buffer.putLong(entry.value);
+        }
+
+        @Override
+        public void decode(final ByteBuffer buffer, final ValueEntry entry) {
+            entry.value = buffer.getLong();
+        }
+    };
+}